@@ -0,0 +1,113 @@
+package com.safari.safari_2.benchmarks;
+
+import com.safari.safari_2.dto.RegisterDTO;
+import com.safari.safari_2.enums.Role;
+import com.safari.safari_2.model.User;
+import com.safari.safari_2.repository.UserRepository;
+import com.safari.safari_2.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-stage cost of UserService.register(RegisterDTO) for a tourist signup:
+ * the password hash, the three uniqueness probes, the user insert, and the whole pipeline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegisterBenchmark {
+
+    private static final String PASSWORD = "Safari@123";
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserRepository userRepository;
+    private PasswordEncoder passwordEncoder;
+
+    private User existingUser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("register_bench");
+        userService = context.getBean(UserService.class);
+        userRepository = context.getBean(UserRepository.class);
+        passwordEncoder = context.getBean(PasswordEncoder.class);
+
+        existingUser = userService.register(tourist(sequence.incrementAndGet()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String passwordEncode() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public void uniquenessProbes(Blackhole blackhole) {
+        blackhole.consume(userRepository.findByUsername(existingUser.getUsername()));
+        blackhole.consume(userRepository.findByEmail(existingUser.getEmail()));
+        blackhole.consume(userRepository.findByNic(existingUser.getNic()));
+    }
+
+    @Benchmark
+    public User insertUser() {
+        RegisterDTO dto = tourist(sequence.incrementAndGet());
+        User user = new User();
+        user.setUsername(dto.getUsername());
+        // Pre-hashed so this stage measures the insert only
+        user.setPassword(existingUser.getPassword());
+        user.setFirstName(dto.getFirstName());
+        user.setLastName(dto.getLastName());
+        user.setEmail(dto.getEmail());
+        user.setContactNumber(dto.getContactNumber());
+        user.setNic(dto.getNic());
+        user.setRole(dto.getRole());
+        user.setNationality(dto.getNationality());
+        return userRepository.save(user);
+    }
+
+    @Benchmark
+    public User registerTourist() {
+        return userService.register(tourist(sequence.incrementAndGet()));
+    }
+
+    private static RegisterDTO tourist(long n) {
+        RegisterDTO dto = new RegisterDTO();
+        dto.setUsername("bench_user_" + n);
+        dto.setPassword(PASSWORD);
+        dto.setConfirmPassword(PASSWORD);
+        dto.setFirstName("Bench");
+        dto.setLastName("User" + n);
+        dto.setEmail("bench" + n + "@example.com");
+        dto.setContactNumber("0771234567");
+        dto.setNic(String.format("%012d", n));
+        dto.setRole(Role.TOURIST);
+        dto.setNationality("Sri Lankan");
+        return dto;
+    }
+}
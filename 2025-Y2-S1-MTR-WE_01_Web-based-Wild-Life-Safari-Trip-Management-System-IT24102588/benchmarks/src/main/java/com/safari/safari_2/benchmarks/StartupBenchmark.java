@@ -0,0 +1,131 @@
+package com.safari.safari_2.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from launching a fresh application JVM to the first successful HTTP response.
+ * Every invocation is a cold start (new process, H2 in memory). To compare the fast-start build
+ * (mvn -Pserver package), point jar at the extracted jar and pass the AOT/AppCDS flags, e.g.
+ * -Djmh.args="StartupBenchmark -p jar=../target/server/safari_2-0.0.1-SNAPSHOT-exec.jar
+ *   -p jvmArgs='-XX:SharedArchiveFile=../target/server/application.jsa -Dspring.aot.enabled=true'"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(120);
+
+    // Extra flags for the application JVM, space separated
+    @Param({""})
+    public String jvmArgs;
+
+    // Extracted executable jar to launch; empty runs the benchmark classpath
+    @Param({""})
+    public String jar;
+
+    @Param({"server"})
+    public String profiles;
+
+    @Param({"/actuator/health"})
+    public String firstRequest;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    @Benchmark
+    public int timeToFirstRequest() throws Exception {
+        int port = freePort();
+        Process process = launch(port);
+        try {
+            return awaitFirstResponse(process, URI.create("http://localhost:" + port + firstRequest));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private Process launch(int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (!jvmArgs.isBlank()) {
+            command.addAll(Arrays.asList(jvmArgs.trim().split("\\s+")));
+        }
+        // An AppCDS archive only applies to the exact classpath it was trained on
+        if (jar.isBlank()) {
+            command.addAll(List.of("-cp", System.getProperty("java.class.path"), "com.safari.safari_2.Safari2Application"));
+        } else {
+            command.addAll(List.of("-jar", jar));
+        }
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.profiles.active=" + profiles,
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:startup;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.flyway.enabled=false",
+                "--safari.desktop.open-browser=false",
+                "--safari.assets.enabled=false",
+                "--logging.level.root=WARN"));
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    private int awaitFirstResponse(Process process, URI uri) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue());
+            }
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return response.statusCode();
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("No response from " + uri + " within " + START_TIMEOUT);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.safari.safari_2.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Resolves logical asset names to fingerprinted /assets/ URLs for templates, e.g.
+ * th:src="${@assets.url('tourist-icon.png')}" th:srcset="${@assets.srcset('yala.jpeg')}"; CSS cover backgrounds
+ * use @assets.coverBackground('body', 'signup_bg.jpg') inlined after the rule it overrides (see login.html).
+ */
+@Component("assets")
+public class AssetUrlHelper {
+
+    @Autowired
+    private ResourceUrlProvider resourceUrlProvider;
+
+    @Autowired
+    private StaticAssetPipeline assetPipeline;
+
+    public String url(String name) {
+        String lookupPath = "/assets/" + strip(name);
+        String versioned = resourceUrlProvider.getForLookupPath(lookupPath);
+        // Unknown asset: keep the plain URL so the page still renders (and the 404 is visible)
+        return versioned != null ? versioned : lookupPath;
+    }
+
+    // "url-480w 480w, url-960w 960w, ..."; empty when no variants were generated
+    public String srcset(String name) {
+        String relative = strip(name);
+        StringJoiner srcset = new StringJoiner(", ");
+        for (int width : assetPipeline.availableWidths(relative)) {
+            srcset.add(url(StaticAssetPipeline.variantPath(relative, width)) + " " + width + "w");
+        }
+        return srcset.toString();
+    }
+
+    // Media queries swapping a cover background for the smallest variant that fills the viewport; widest first,
+    // so the narrowest matching query wins. 2x screens get the next size up (or the original). Empty without variants.
+    public String coverBackground(String selector, String name) {
+        String relative = strip(name);
+        List<Integer> widths = assetPipeline.availableWidths(relative);
+        StringBuilder css = new StringBuilder();
+        for (int i = widths.size() - 1; i >= 0; i--) {
+            String oneX = url(StaticAssetPipeline.variantPath(relative, widths.get(i)));
+            String twoX = i + 1 < widths.size() ? url(StaticAssetPipeline.variantPath(relative, widths.get(i + 1))) : url(relative);
+            css.append("@media (max-width: ").append(widths.get(i)).append("px) { ").append(selector).append(" { ")
+                    .append("background-image: url(\"").append(oneX).append("\"); ")
+                    .append("background-image: image-set(url(\"").append(oneX).append("\") 1x, url(\"").append(twoX)
+                    .append("\") 2x); } }\n");
+        }
+        return css.toString();
+    }
+
+    private static String strip(String name) {
+        return name.startsWith("/") ? name.substring(1) : name;
+    }
+}
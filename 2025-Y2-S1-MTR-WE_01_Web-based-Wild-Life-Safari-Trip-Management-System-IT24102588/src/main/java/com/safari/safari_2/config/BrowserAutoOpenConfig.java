@@ -1,5 +1,6 @@
 package com.safari.safari_2.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
@@ -7,19 +8,30 @@ import org.springframework.stereotype.Component;
 import java.awt.Desktop;
 import java.io.IOException;
 import java.net.URI;
-import java.net.URISyntaxException;
 
+// Desktop convenience for local runs; the server profile turns it off (safari.desktop.open-browser=false)
 @Component
+@ConditionalOnProperty(name = "safari.desktop.open-browser", havingValue = "true", matchIfMissing = true)
 public class BrowserAutoOpenConfig {
 
     @EventListener(ApplicationReadyEvent.class)
-    public void openBrowser() {
+    public void openBrowser(ApplicationReadyEvent event) {
+        // ApplicationReadyEvent already means the server is listening, so no wait is needed
+        String port = event.getApplicationContext().getEnvironment().getProperty("local.server.port", "8080");
+        String url = "http://localhost:" + port + "/home";
+
+        if (!hasDisplay()) {
+            return;
+        }
+
+        // Opening a browser can block for seconds; keep it off the startup thread
+        Thread opener = new Thread(() -> open(url), "browser-auto-open");
+        opener.setDaemon(true);
+        opener.start();
+    }
+
+    private void open(String url) {
         try {
-            // Wait a moment for the server to fully start
-            Thread.sleep(2000);
-            
-            String url = "http://localhost:8080/home";
-            
             // Try to open browser using Desktop API first
             if (Desktop.isDesktopSupported() && Desktop.getDesktop().isSupported(Desktop.Action.BROWSE)) {
                 Desktop.getDesktop().browse(new URI(url));
@@ -28,28 +40,35 @@ public class BrowserAutoOpenConfig {
                 // Fallback: Try to open using system command
                 openBrowserWithCommand(url);
             }
-            
         } catch (Exception e) {
             System.out.println("⚠️  Could not open browser automatically.");
-            System.out.println("   Please manually navigate to: http://localhost:8080/home");
+            System.out.println("   Please manually navigate to: " + url);
             System.out.println("   Error: " + e.getMessage());
         }
     }
-    
+
+    // Spring Boot runs with java.awt.headless=true, so check for a desktop session directly
+    private static boolean hasDisplay() {
+        String os = System.getProperty("os.name").toLowerCase();
+        if (os.contains("nix") || os.contains("nux")) {
+            return System.getenv("DISPLAY") != null || System.getenv("WAYLAND_DISPLAY") != null;
+        }
+        return true;
+    }
+
     private void openBrowserWithCommand(String url) {
         String os = System.getProperty("os.name").toLowerCase();
-        Runtime runtime = Runtime.getRuntime();
-        
+
         try {
             if (os.contains("win")) {
                 // Windows
-                runtime.exec("rundll32 url.dll,FileProtocolHandler " + url);
+                new ProcessBuilder("rundll32", "url.dll,FileProtocolHandler", url).start();
             } else if (os.contains("mac")) {
                 // macOS
-                runtime.exec("open " + url);
+                new ProcessBuilder("open", url).start();
             } else if (os.contains("nix") || os.contains("nux")) {
                 // Linux
-                runtime.exec("xdg-open " + url);
+                new ProcessBuilder("xdg-open", url).start();
             }
             System.out.println("🌐 Browser opened automatically to: " + url);
         } catch (IOException e) {
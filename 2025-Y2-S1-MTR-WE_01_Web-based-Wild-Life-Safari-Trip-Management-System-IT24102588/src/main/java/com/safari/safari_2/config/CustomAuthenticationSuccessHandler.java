@@ -1,8 +1,8 @@
 package com.safari.safari_2.config;
 
 import com.safari.safari_2.enums.Role;
-import com.safari.safari_2.model.User;
-import com.safari.safari_2.repository.UserRepository;
+import com.safari.safari_2.security.SafariUserDetails;
+import com.safari.safari_2.security.SessionTokenService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
@@ -12,56 +12,53 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Optional;
 
 @Component
 public class CustomAuthenticationSuccessHandler implements AuthenticationSuccessHandler {
 
     @Autowired
-    private UserRepository userRepository;
+    private SessionTokenService sessionTokenService;
 
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
                                       Authentication authentication) throws IOException, ServletException {
         
-        String username = authentication.getName();
-        Optional<User> userOptional = userRepository.findByUsername(username);
-        
-        if (userOptional.isPresent()) {
-            User user = userOptional.get();
+        // The principal already carries id and role from the login lookup; no second query
+        if (authentication.getPrincipal() instanceof SafariUserDetails user) {
             Role userRole = user.getRole();
+
+            // Token mode: the claims below are rebuilt from the signed cookie on every request
+            if (sessionTokenService.isEnabled()) {
+                sessionTokenService.issue(request, response, user);
+            }
             
             // Store user ID in session for dashboard access
-            request.getSession().setAttribute("userId", user.getId());
+            request.getSession().setAttribute("userId", user.getUserId());
             
-            // Special handling for admin users (regardless of role)
-            if (username.equals("admin") || username.equals("adminw")) {
+            // Admin users (stored role ADMIN)
+            if (user.isAdmin()) {
                 // Store admin ID for dashboard
-                request.getSession().setAttribute("adminId", user.getId());
+                request.getSession().setAttribute("adminId", user.getUserId());
                 response.sendRedirect("/admin-dashboard");
             }
             // Redirect based on role
             else if (userRole == Role.DRIVER) {
                 // Store driver ID for dashboard
-                request.getSession().setAttribute("driverId", user.getId());
+                request.getSession().setAttribute("driverId", user.getUserId());
                 response.sendRedirect("/driver-dashboard");
             } else if (userRole == Role.GUIDE) {
                 // Store guide ID for dashboard
-                request.getSession().setAttribute("guideId", user.getId());
+                request.getSession().setAttribute("guideId", user.getUserId());
                 response.sendRedirect("/guide-dashboard");
             } else if (userRole == Role.TOURIST) {
                 // Tourists go to explore tour page
                 response.sendRedirect("/explore-tour");
-            } else if (userRole == Role.ADMIN) {
-                // Store admin ID for dashboard
-                request.getSession().setAttribute("adminId", user.getId());
-                response.sendRedirect("/admin-dashboard");
             } else {
                 // Default fallback
                 response.sendRedirect("/explore-tour");
             }
         } else {
-            // Fallback if user not found
+            // Fallback if the principal did not come from CustomUserDetailsService
             response.sendRedirect("/explore-tour");
         }
     }
@@ -0,0 +1,77 @@
+package com.safari.safari_2.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Wraps the application DataSource in an {@link AdmissionControlledDataSource} when
+ * safari.db.admission.enabled=true (turned on by the virtual-threads profile).
+ * The gate defaults to the Hikari maximum pool size.
+ */
+@Configuration
+@ConditionalOnProperty(name = "safari.db.admission.enabled", havingValue = "true")
+public class DataSourceAdmissionConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceAdmissionConfig.class);
+
+    // Static so the post-processor is registered before the DataSource bean is created. The concrete return type
+    // lets Spring see that it is Ordered (a plain BeanPostProcessor return type would be registered unsorted).
+    @Bean
+    public static AdmissionPostProcessor dataSourceAdmissionPostProcessor(Environment environment) {
+        return new AdmissionPostProcessor(environment);
+    }
+
+    // First DataSource wrapper to run, so the gate sits directly on the pool (innermost) and outer wrappers
+    // such as SlowQueryConfig's include the wait for a permit in their timings
+    static class AdmissionPostProcessor implements BeanPostProcessor, Ordered {
+
+        static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+        private final Environment environment;
+
+        AdmissionPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof AdmissionControlledDataSource) {
+                return bean;
+            }
+            int permits = environment.getProperty("safari.db.admission.permits", Integer.class, 0);
+            if (permits <= 0) {
+                permits = maximumPoolSize(dataSource);
+            }
+            long timeoutMillis = environment.getProperty("safari.db.admission.timeout-millis", Long.class, 30000L);
+            log.info("Database admission gate on '{}': {} permits, {} ms timeout", beanName, permits, timeoutMillis);
+            return new AdmissionControlledDataSource(dataSource, permits, timeoutMillis);
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+
+        // Looks through any wrapper, in case another post-processor got to the pool first
+        private static int maximumPoolSize(DataSource dataSource) {
+            try {
+                if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                    return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                }
+            } catch (SQLException e) {
+                log.debug("Could not unwrap the connection pool: {}", e.getMessage());
+            }
+            return 10;
+        }
+    }
+}
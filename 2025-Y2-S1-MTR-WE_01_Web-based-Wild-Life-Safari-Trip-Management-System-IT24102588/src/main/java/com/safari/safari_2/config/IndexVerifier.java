@@ -0,0 +1,139 @@
+package com.safari.safari_2.config;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Checks at startup that every index the entities declare (@Table indexes and unique columns)
+ * exists in the database, so a hand-run script that dropped one is noticed before queries slow down.
+ * safari.db.index-check: warn (default) logs missing indexes, fail aborts startup, off skips the check.
+ */
+@Component
+public class IndexVerifier implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexVerifier.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${safari.db.index-check:warn}")
+    private String mode;
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        if ("off".equalsIgnoreCase(mode)) {
+            return;
+        }
+
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+                Class<?> type = entity.getJavaType();
+                Table table = type.getAnnotation(Table.class);
+                if (table == null || table.name().isEmpty()) {
+                    continue; // projections and entities without an explicit table
+                }
+
+                Map<String, List<String>> existing = readIndexes(metaData, connection, table.name());
+                for (List<String> required : requiredIndexes(type, table)) {
+                    if (!isCovered(required, existing)) {
+                        missing.add(table.name() + "(" + String.join(", ", required) + ")");
+                    }
+                }
+            }
+        }
+
+        if (missing.isEmpty()) {
+            log.info("Index check passed");
+            return;
+        }
+        String message = "Missing database indexes: " + String.join("; ", missing);
+        if ("fail".equalsIgnoreCase(mode)) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    private static List<List<String>> requiredIndexes(Class<?> type, Table table) {
+        List<List<String>> required = new ArrayList<>();
+        for (Index index : table.indexes()) {
+            required.add(Arrays.stream(index.columnList().split(","))
+                    .map(column -> toColumnName(column.trim().split("\\s+")[0]))
+                    .toList());
+        }
+        for (Field field : type.getDeclaredFields()) {
+            Column column = field.getAnnotation(Column.class);
+            if (column != null && column.unique()) {
+                required.add(List.of(column.name().isEmpty() ? toColumnName(field.getName()) : column.name().toLowerCase(Locale.ROOT)));
+            }
+        }
+        return required;
+    }
+
+    // An index serves a lookup when the required columns are its leading columns, in order
+    private static boolean isCovered(List<String> required, Map<String, List<String>> existing) {
+        for (List<String> columns : existing.values()) {
+            if (columns.size() >= required.size() && columns.subList(0, required.size()).equals(required)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, List<String>> readIndexes(DatabaseMetaData metaData, Connection connection,
+                                                         String table) throws SQLException {
+        // Identifier case differs between databases (SQL Server keeps it, H2 upper-cases it)
+        for (String candidate : List.of(table, table.toUpperCase(Locale.ROOT), table.toLowerCase(Locale.ROOT))) {
+            Map<String, TreeMap<Short, String>> byIndex = new TreeMap<>();
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), candidate, false, true)) {
+                while (rs.next()) {
+                    String indexName = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (indexName == null || column == null) {
+                        continue; // table statistics row
+                    }
+                    byIndex.computeIfAbsent(indexName, k -> new TreeMap<>())
+                            .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                }
+            }
+            if (!byIndex.isEmpty()) {
+                Map<String, List<String>> indexes = new TreeMap<>();
+                byIndex.forEach((name, columns) -> indexes.put(name, new ArrayList<>(columns.values())));
+                return indexes;
+            }
+        }
+        return Map.of();
+    }
+
+    // Same mapping as Spring's physical naming strategy: contactNumber -> contact_number
+    private static String toColumnName(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+}
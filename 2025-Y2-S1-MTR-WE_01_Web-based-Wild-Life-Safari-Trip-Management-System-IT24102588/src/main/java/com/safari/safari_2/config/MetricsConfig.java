@@ -0,0 +1,64 @@
+package com.safari.safari_2.config;
+
+import com.safari.safari_2.security.RateLimiter;
+import com.safari.safari_2.security.UserDetailsCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Application meters on top of what Actuator binds on its own
+ * (spring.data.repository.invocations timers per repository method and hikaricp.* pool gauges).
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder userDetailsCacheMetrics(UserDetailsCache cache) {
+        return registry -> {
+            FunctionCounter.builder("safari.user.cache.requests", cache, UserDetailsCache::getHitCount)
+                    .tag("result", "hit")
+                    .description("Authentication lookups served from the cache")
+                    .register(registry);
+            FunctionCounter.builder("safari.user.cache.requests", cache, UserDetailsCache::getMissCount)
+                    .tag("result", "miss")
+                    .description("Authentication lookups that went to the database")
+                    .register(registry);
+            FunctionCounter.builder("safari.user.cache.evictions", cache, UserDetailsCache::getEvictionCount)
+                    .register(registry);
+            Gauge.builder("safari.user.cache.size", cache, UserDetailsCache::size)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimiterMetrics(RateLimiter rateLimiter) {
+        return registry -> Gauge.builder("safari.rate.limit.keys", rateLimiter, RateLimiter::size)
+                .description("Client buckets currently tracked by the rate limiter")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder databaseAdmissionMetrics(DataSource dataSource) {
+        return registry -> {
+            // The gate may sit under other wrappers (e.g. the slow-query timer)
+            DataSource current = dataSource;
+            while (!(current instanceof AdmissionControlledDataSource) && current instanceof DelegatingDataSource delegating) {
+                current = delegating.getTargetDataSource();
+            }
+            if (current instanceof AdmissionControlledDataSource gate) {
+                Gauge.builder("safari.db.admission.available", gate, AdmissionControlledDataSource::getAvailablePermits)
+                        .description("Free database admission permits")
+                        .register(registry);
+                Gauge.builder("safari.db.admission.waiting", gate, AdmissionControlledDataSource::getQueueLength)
+                        .description("Requests waiting for database admission")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.safari.safari_2.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in cache of fully rendered pages whose output never depends on the user or request
+ * (park tour pages, the signup form). Paths are listed in safari.templates.page-cache.paths;
+ * the first successful GET is rendered normally and later ones are served from memory until restart,
+ * with the headers of the original render (never Set-Cookie).
+ * Ordered just after Spring Security's filter chain, so access rules and security headers still apply to cached pages.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class RenderedPageCacheFilter extends OncePerRequestFilter {
+
+    // Written from the cached body and content type, or per response, so never replayed
+    private static final Set<String> NOT_REPLAYED = Set.of("set-cookie", "content-length", "content-type",
+            "transfer-encoding", "date");
+
+    private record Page(byte[] body, String contentType, Map<String, List<String>> headers) {
+    }
+
+    private final Set<String> paths;
+    private final Map<String, Page> pages = new ConcurrentHashMap<>();
+
+    public RenderedPageCacheFilter(@Value("${safari.templates.page-cache.paths:}") List<String> paths) {
+        this.paths = new HashSet<>(paths);
+        this.paths.remove("");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Query strings (e.g. /login?error=true) change the page, so only bare paths are cached
+        return paths.isEmpty() || !"GET".equals(request.getMethod()) || request.getQueryString() != null
+                || !paths.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Page page = pages.get(path);
+        if (page != null) {
+            page.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+            response.setContentType(page.contentType());
+            response.setContentLength(page.body().length);
+            response.getOutputStream().write(page.body());
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        // Only plain successful renders; anything that sets a cookie is per-user by definition
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && wrapper.getContentType() != null
+                && !wrapper.containsHeader(HttpHeaders.SET_COOKIE)) {
+            pages.putIfAbsent(path, new Page(wrapper.getContentAsByteArray(), wrapper.getContentType(), headers(wrapper)));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private static Map<String, List<String>> headers(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!NOT_REPLAYED.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+}
@@ -1,42 +1,107 @@
 package com.safari.safari_2.config;
 
+import com.safari.safari_2.security.BcryptCostCalibrator;
+import com.safari.safari_2.security.BoundedPasswordEncoder;
+import com.safari.safari_2.security.HashingCapacityExceededException;
+import com.safari.safari_2.security.RateLimitFilter;
+import com.safari.safari_2.security.RateLimiter;
+import com.safari.safari_2.security.SessionTokenService;
+import com.safari.safari_2.security.TokenAuthenticationFilter;
 import com.safari.safari_2.service.CustomUserDetailsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
     @Autowired
     private CustomUserDetailsService userDetailsService;
     
     @Autowired
     private CustomAuthenticationSuccessHandler authenticationSuccessHandler;
 
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Value("${safari.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${safari.security.hash.strength:0}") int strength,
+            @Value("${safari.security.hash.target-millis:250}") long targetMillis,
+            @Value("${safari.security.hash.min-strength:10}") int minStrength,
+            @Value("${safari.security.hash.max-strength:14}") int maxStrength,
+            @Value("${safari.security.hash.threads:0}") int threads,
+            @Value("${safari.security.hash.queue-capacity:64}") int queueCapacity,
+            @Value("${safari.security.hash.wait-timeout-millis:5000}") long waitTimeoutMillis) {
+        // strength=0 means calibrate to the target latency on this machine
+        int effectiveStrength = strength > 0 ? strength
+                : BcryptCostCalibrator.calibrate(targetMillis, minStrength, maxStrength);
+        int effectiveThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        log.info("Password hashing: BCrypt strength {}, {} threads, queue {}", effectiveStrength, effectiveThreads, queueCapacity);
+        return new BoundedPasswordEncoder(effectiveStrength, effectiveThreads, queueCapacity, waitTimeoutMillis);
+    }
+
+    // Saturated hashing pool answers 503 so clients back off; everything else is a normal bad login
+    private AuthenticationFailureHandler loginFailureHandler() {
+        return (request, response, exception) -> {
+            if (exception instanceof HashingCapacityExceededException) {
+                response.setHeader("Retry-After", "1");
+                response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), exception.getMessage());
+            } else {
+                response.sendRedirect("/login?error=true");
+            }
+        };
     }
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             .authorizeHttpRequests(authz -> authz
-                        .requestMatchers("/static/**", "/api/users/**", "/api/tours/**", "/api/tourist-users/**", "/api/tourist-bookings/**", "/api/guide-bookings/**", "/api/driver-bookings/**", "/api/driver-tours/**", "/api/guide-tours/**", "/api/tour-assignments/**", "/api/test/**", "/api/test-tours/**", "/api/session/**", "/api/drivers/**", "/api/guides/**", "/api/admin/**", "/api/reviews/**", "/api/notices", "/api/notices/**", "/api/contact-details", "/api/contact-details/**", "/signup", "/login", "/home", "/explore-tour", "/yala-tour", "/wilpattu-tour", "/udawalawe-tour", "/minneriya-tour", "/kumana-tour", "/sinharaja-tour", "/driver-dashboard", "/guide-dashboard", "/tourist-dashboard", "/admin-dashboard", "/reviews").permitAll()
+                // Batch assignment rewrites many tours at once: administrators only
+                .requestMatchers("/api/tour-assignments/auto").hasRole("ADMIN")
+                .requestMatchers("/api/bookings/rebuild-projections", "/api/bookings/*/assign").hasRole("ADMIN")
+                // Bulk import creates accounts of any role
+                .requestMatchers("/api/users/bulk-register").hasRole("ADMIN")
+                // Partial user updates: the batch is for administrators, a single user is checked in UserController
+                .requestMatchers(HttpMethod.PATCH, "/api/users/batch").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.PATCH, "/api/users/*").authenticated()
+                // Drivers and guides accept tours for themselves only (the controller checks whose)
+                .requestMatchers("/api/tour-acceptance/driver").hasRole("DRIVER")
+                .requestMatchers("/api/tour-acceptance/guide").hasRole("GUIDE")
+                        .requestMatchers("/static/**", "/assets/**", "/api/users/**", "/api/tours/**", "/api/tourist-users/**", "/api/tourist-bookings/**", "/api/guide-bookings/**", "/api/driver-bookings/**", "/api/driver-tours/**", "/api/guide-tours/**", "/api/tour-assignments/**", "/api/availability", "/api/availability/**", "/api/test/**", "/api/test-tours/**", "/api/session/**", "/api/drivers/**", "/api/guides/**", "/api/admin/**", "/api/reviews/**", "/api/notices", "/api/notices/**", "/api/contact-details", "/api/contact-details/**", "/signup", "/login", "/home", "/explore-tour", "/yala-tour", "/wilpattu-tour", "/udawalawe-tour", "/minneriya-tour", "/kumana-tour", "/sinharaja-tour", "/driver-dashboard", "/guide-dashboard", "/tourist-dashboard", "/admin-dashboard", "/reviews").permitAll()
+                // Metrics and Prometheus scrape endpoint: administrators only (form login or HTTP Basic)
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
+            .httpBasic(Customizer.withDefaults())
             .formLogin(form -> form
                 .loginPage("/login")
                 .successHandler(authenticationSuccessHandler)
-                .failureUrl("/login?error=true")
+                .failureHandler(loginFailureHandler())
                 .permitAll()
             )
             .logout(logout -> logout
@@ -46,6 +111,20 @@ public class SecurityConfig {
             .userDetailsService(userDetailsService)
             .csrf(csrf -> csrf.disable()); // Disable CSRF completely for now
 
+        // Per-client budgets ahead of the login filter, so rejected attempts never reach BCrypt
+        if (rateLimitEnabled) {
+            http.addFilterBefore(new RateLimitFilter(rateLimiter), UsernamePasswordAuthenticationFilter.class);
+        }
+
+        // safari.session.mode=token: no server-side session at all; the signed cookie/header is the session
+        if (sessionTokenService.isEnabled()) {
+            http
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .requestCache(cache -> cache.requestCache(new NullRequestCache()))
+                .logout(logout -> logout.deleteCookies(SessionTokenService.COOKIE_NAME))
+                .addFilterBefore(new TokenAuthenticationFilter(sessionTokenService, userDetailsService), UsernamePasswordAuthenticationFilter.class);
+        }
+
         return http.build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.safari.safari_2.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Times statements through {@link SlowQueryDataSource} and exposes the slowest ones at
+ * /actuator/slowqueries (GET to read, DELETE to reset; ADMIN only like the other actuator endpoints).
+ */
+@Configuration
+@ConditionalOnProperty(name = "safari.db.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    // Registered like DataSourceAdmissionConfig's post-processor; ordered to wrap outside the admission gate
+    @Bean
+    public static SlowQueryPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryRecorder> recorder) {
+        return new SlowQueryPostProcessor(recorder);
+    }
+
+    static class SlowQueryPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<SlowQueryRecorder> recorder;
+
+        SlowQueryPostProcessor(ObjectProvider<SlowQueryRecorder> recorder) {
+            this.recorder = recorder;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)) {
+                return new SlowQueryDataSource(dataSource, recorder.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return DataSourceAdmissionConfig.AdmissionPostProcessor.ORDER + 1;
+        }
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryRecorder recorder) {
+        return new SlowQueryEndpoint(recorder);
+    }
+
+    @Endpoint(id = "slowqueries")
+    public static class SlowQueryEndpoint {
+
+        private final SlowQueryRecorder recorder;
+
+        public SlowQueryEndpoint(SlowQueryRecorder recorder) {
+            this.recorder = recorder;
+        }
+
+        @ReadOperation
+        public List<SlowQueryRecorder.QueryStats> slowest() {
+            return recorder.getSlowest();
+        }
+
+        @DeleteOperation
+        public void reset() {
+            recorder.reset();
+        }
+    }
+}
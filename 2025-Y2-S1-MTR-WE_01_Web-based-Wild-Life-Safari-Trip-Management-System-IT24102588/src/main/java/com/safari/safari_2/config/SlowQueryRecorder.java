@@ -0,0 +1,119 @@
+package com.safari.safari_2.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Replaces unconditional SQL echo with a slow-query log.
+ * Statements at or above the threshold are logged at WARN; faster ones only at the sample rate (DEBUG).
+ * Logged SQL is normalized: literals become ? and bind values are never captured.
+ * The slowest normalized statements are kept in a bounded top-N table for the slowqueries endpoint.
+ */
+@Component
+public class SlowQueryRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryRecorder.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public record QueryStats(String sql, long count, double maxMillis, double averageMillis, long lastSeenEpochMillis) {
+    }
+
+    private static class Entry {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long lastSeen;
+    }
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final int topN;
+    private final Map<String, Entry> slowest = new HashMap<>();
+
+    public SlowQueryRecorder(@Value("${safari.db.slow-query.threshold-millis:200}") long thresholdMillis,
+                             @Value("${safari.db.slow-query.sample-rate:0.01}") double sampleRate,
+                             @Value("${safari.db.slow-query.top-n:50}") int topN) {
+        this.thresholdNanos = thresholdMillis * 1_000_000;
+        this.sampleRate = sampleRate;
+        this.topN = topN;
+    }
+
+    public void record(String sql, long nanos) {
+        boolean slow = nanos >= thresholdNanos;
+        // Fast path: most statements are fast and unsampled and cost one comparison here
+        if (!slow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+
+        String normalized = normalize(sql);
+        double millis = nanos / 1_000_000.0;
+        if (slow) {
+            log.warn("Slow query ({} ms): {}", String.format("%.1f", millis), normalized);
+        } else if (log.isDebugEnabled()) {
+            log.debug("Sampled query ({} ms): {}", String.format("%.1f", millis), normalized);
+        }
+        remember(normalized, nanos);
+    }
+
+    private void remember(String normalized, long nanos) {
+        synchronized (slowest) {
+            Entry entry = slowest.get(normalized);
+            if (entry == null) {
+                if (slowest.size() >= topN) {
+                    // Full: replace the statement with the smallest worst case, if this one is slower
+                    Map.Entry<String, Entry> fastest = slowest.entrySet().stream()
+                            .min(Comparator.comparingLong(e -> e.getValue().maxNanos))
+                            .orElseThrow();
+                    if (fastest.getValue().maxNanos >= nanos) {
+                        return;
+                    }
+                    slowest.remove(fastest.getKey());
+                }
+                entry = new Entry();
+                slowest.put(normalized, entry);
+            }
+            entry.count++;
+            entry.totalNanos += nanos;
+            entry.maxNanos = Math.max(entry.maxNanos, nanos);
+            entry.lastSeen = System.currentTimeMillis();
+        }
+    }
+
+    // Slowest first
+    public List<QueryStats> getSlowest() {
+        List<QueryStats> stats = new ArrayList<>();
+        synchronized (slowest) {
+            slowest.forEach((sql, e) -> stats.add(new QueryStats(sql, e.count, e.maxNanos / 1_000_000.0,
+                    e.totalNanos / 1_000_000.0 / e.count, e.lastSeen)));
+        }
+        stats.sort(Comparator.comparingDouble(QueryStats::maxMillis).reversed());
+        return stats;
+    }
+
+    public void reset() {
+        synchronized (slowest) {
+            slowest.clear();
+        }
+    }
+
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+}
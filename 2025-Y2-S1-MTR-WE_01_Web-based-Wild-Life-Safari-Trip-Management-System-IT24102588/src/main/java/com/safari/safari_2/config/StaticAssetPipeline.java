@@ -0,0 +1,200 @@
+package com.safari.safari_2.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Mirrors classpath:/static/ into safari.assets.output-dir at startup, adding:
+ * - downscaled width variants of JPEG/PNG images (name-480w.jpg, ...) for srcset and CSS cover backgrounds
+ * - .gz copies of text assets for EncodedResourceResolver (images are already compressed)
+ * Outputs newer than their source are reused, so only the first start after a change pays for resizing.
+ * The mirror is served under /assets/** with content-hash URLs (see WebConfig and AssetUrlHelper).
+ */
+@Component
+public class StaticAssetPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(StaticAssetPipeline.class);
+
+    private static final Set<String> IMAGE_TYPES = Set.of("jpg", "jpeg", "png");
+    private static final Set<String> COMPRESSIBLE_TYPES = Set.of("html", "css", "js", "svg", "json", "txt");
+
+    private final boolean enabled;
+    private final Path outputDir;
+    private final List<Integer> widths;
+
+    public StaticAssetPipeline(@Value("${safari.assets.enabled:true}") boolean enabled,
+                               @Value("${safari.assets.output-dir:${java.io.tmpdir}/safari-assets}") String outputDir,
+                               @Value("${safari.assets.widths:480,960,1600}") List<Integer> widths) {
+        this.enabled = enabled;
+        this.outputDir = Paths.get(outputDir).toAbsolutePath();
+        this.widths = widths;
+    }
+
+    @PostConstruct
+    public void generate() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int written = 0;
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources("classpath:/static/**/*.*");
+            for (Resource resource : resources) {
+                String relative = relativePath(resource);
+                if (relative != null) {
+                    written += process(resource, relative);
+                }
+            }
+        } catch (IOException e) {
+            // Serving falls back to the classpath originals (WebConfig lists both locations)
+            log.warn("Static asset pipeline failed, serving unprocessed assets: {}", e.getMessage());
+            return;
+        }
+        log.info("Static assets ready in {} ({} files written, {} ms)", outputDir, written, System.currentTimeMillis() - start);
+    }
+
+    private int process(Resource resource, String relative) throws IOException {
+        Path original = outputDir.resolve(relative);
+        long sourceModified = lastModified(resource);
+        int written = 0;
+
+        if (isStale(original, sourceModified)) {
+            Files.createDirectories(original.getParent());
+            try (InputStream in = resource.getInputStream()) {
+                Files.copy(in, original, StandardCopyOption.REPLACE_EXISTING);
+            }
+            written++;
+        }
+
+        String extension = extension(relative);
+        if (IMAGE_TYPES.contains(extension)) {
+            written += writeWidthVariants(original, relative, extension, sourceModified);
+        } else if (COMPRESSIBLE_TYPES.contains(extension)) {
+            Path gzip = outputDir.resolve(relative + ".gz");
+            if (isStale(gzip, sourceModified)) {
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+                    Files.copy(original, out);
+                }
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private int writeWidthVariants(Path original, String relative, String extension, long sourceModified) throws IOException {
+        List<Path> pending = new ArrayList<>();
+        for (int width : widths) {
+            Path variant = outputDir.resolve(variantPath(relative, width));
+            if (isStale(variant, sourceModified)) {
+                pending.add(variant);
+            }
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        BufferedImage image = ImageIO.read(original.toFile());
+        if (image == null) {
+            return 0;
+        }
+        int written = 0;
+        for (int width : widths) {
+            Path variant = outputDir.resolve(variantPath(relative, width));
+            // Never upscale: a variant only exists when it is smaller than the original
+            if (width >= image.getWidth() || !pending.contains(variant)) {
+                continue;
+            }
+            ImageIO.write(scale(image, width, !"png".equals(extension)), "png".equals(extension) ? "png" : "jpg", variant.toFile());
+            written++;
+        }
+        return written;
+    }
+
+    private static BufferedImage scale(BufferedImage image, int width, boolean opaque) {
+        int height = Math.max(1, Math.round(image.getHeight() * (width / (float) image.getWidth())));
+        BufferedImage scaled = new BufferedImage(width, height, opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    // Variants that exist for an asset, smallest first
+    public List<Integer> availableWidths(String relative) {
+        List<Integer> available = new ArrayList<>();
+        if (enabled && IMAGE_TYPES.contains(extension(relative))) {
+            for (int width : widths) {
+                if (Files.exists(outputDir.resolve(variantPath(relative, width)))) {
+                    available.add(width);
+                }
+            }
+        }
+        available.sort(null);
+        return available;
+    }
+
+    public static String variantPath(String relative, int width) {
+        int dot = relative.lastIndexOf('.');
+        return relative.substring(0, dot) + "-" + width + "w" + relative.substring(dot);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path getOutputDir() {
+        return outputDir;
+    }
+
+    private static boolean isStale(Path output, long sourceModified) throws IOException {
+        return !Files.exists(output) || Files.getLastModifiedTime(output).toMillis() < sourceModified;
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static String relativePath(Resource resource) throws IOException {
+        String url = resource.getURL().toString();
+        int index = url.lastIndexOf("/static/");
+        return index < 0 ? null : URLDecoder.decode(url.substring(index + "/static/".length()), StandardCharsets.UTF_8);
+    }
+
+    private static String extension(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot < 0 ? "" : path.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,84 @@
+package com.safari.safari_2.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.spring6.expression.ThymeleafEvaluationContext;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Parses every template once before the web server starts, so the first request after a deploy
+ * hits the Thymeleaf template cache instead of reading and parsing the file.
+ * Only useful with spring.thymeleaf.cache=true (the prod profile turns both on).
+ */
+@Component
+@ConditionalOnProperty(name = "safari.templates.warmup", havingValue = "true")
+public class TemplateWarmup implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TemplateWarmup.class);
+
+    @Autowired
+    private SpringTemplateEngine templateEngine;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.currentTimeMillis();
+        int warmed = 0;
+        Resource[] templates;
+        try {
+            templates = new PathMatchingResourcePatternResolver().getResources("classpath:/templates/**/*.html");
+        } catch (IOException e) {
+            log.warn("Template warmup skipped: {}", e.getMessage());
+            return;
+        }
+
+        for (Resource template : templates) {
+            String name = templateName(template);
+            if (name == null) {
+                continue;
+            }
+            Context context = new Context();
+            // Lets ${@bean...} expressions resolve outside a request
+            context.setVariable(ThymeleafEvaluationContext.THYMELEAF_EVALUATION_CONTEXT_CONTEXT_VARIABLE_NAME,
+                    new ThymeleafEvaluationContext(applicationContext, null));
+            try {
+                templateEngine.process(name, context, Writer.nullWriter());
+                warmed++;
+            } catch (RuntimeException e) {
+                // Parsing (the cached part) happens before evaluation, so a template that needs
+                // request data is still warm; only the throwaway render failed
+                log.debug("Template {} parsed, render needs a request: {}", name, e.getMessage());
+                warmed++;
+            }
+        }
+        log.info("Warmed {} templates in {} ms", warmed, System.currentTimeMillis() - start);
+    }
+
+    // classpath:/templates/signup.html -> "signup"
+    private static String templateName(Resource template) {
+        try {
+            String url = template.getURL().toString();
+            int index = url.lastIndexOf("/templates/");
+            if (index < 0) {
+                return null;
+            }
+            String name = url.substring(index + "/templates/".length());
+            return name.substring(0, name.length() - ".html".length());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
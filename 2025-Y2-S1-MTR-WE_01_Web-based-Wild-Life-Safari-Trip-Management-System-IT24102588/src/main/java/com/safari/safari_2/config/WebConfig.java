@@ -1,15 +1,40 @@
 package com.safari.safari_2.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private StaticAssetPipeline assetPipeline;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         registry.addResourceHandler("/static/**")
                 .addResourceLocations("classpath:/static/");
+
+        // Fingerprinted copies (see AssetUrlHelper): the URL changes with the content, so they never need revalidating
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations(assetLocations())
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    private String[] assetLocations() {
+        if (!assetPipeline.isEnabled()) {
+            return new String[]{"classpath:/static/"};
+        }
+        // Generated mirror first so .gz and width variants sit next to their originals
+        return new String[]{assetPipeline.getOutputDir().toUri().toString(), "classpath:/static/"};
     }
 }
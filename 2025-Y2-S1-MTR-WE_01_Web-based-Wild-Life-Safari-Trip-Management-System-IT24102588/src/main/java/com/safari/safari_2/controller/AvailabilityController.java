@@ -0,0 +1,62 @@
+package com.safari.safari_2.controller;
+
+import com.safari.safari_2.service.AvailabilityIndex;
+import com.safari.safari_2.service.TourAssignmentEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Served from AvailabilityIndex; nothing here queries the database
+@RestController
+@RequestMapping("/api/availability")
+public class AvailabilityController {
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    // e.g. /api/availability?date=2026-12-24&language=German
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> free(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String language) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put("drivers", availabilityIndex.free(TourAssignmentEngine.Kind.DRIVER, date, language));
+            response.put("guides", availabilityIndex.free(TourAssignmentEngine.Kind.GUIDE, date, language));
+            response.put("success", true);
+            response.put("date", date);
+            response.put("language", language);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    // Free days of one driver or guide, e.g. /api/availability/driver/7?from=2026-12-01&to=2026-12-31
+    @GetMapping("/{kind}/{id}")
+    public ResponseEntity<Map<String, Object>> freeDates(
+            @PathVariable String kind,
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            TourAssignmentEngine.Kind parsed = TourAssignmentEngine.Kind.valueOf(kind.toUpperCase(Locale.ROOT));
+            response.put("freeDates", availabilityIndex.freeDates(parsed, id, from, to));
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.safari.safari_2.controller;
+
+import com.safari.safari_2.security.CurrentUser;
+import com.safari.safari_2.security.SafariUserDetails;
+import com.safari.safari_2.service.BookingEventLog;
+import com.safari.safari_2.service.TourAcceptanceService;
+import com.safari.safari_2.service.TourAssignmentEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+// Write path for bookings: every call appends to the booking event log (see BookingEventLog).
+// Who the caller is always comes from the principal; assign is admin-only (SecurityConfig).
+@RestController
+@RequestMapping("/api/bookings")
+public class BookingController {
+
+    @Autowired
+    private BookingEventLog bookingEventLog;
+
+    @Autowired
+    private TourAcceptanceService tourAcceptanceService;
+
+    // The booking is always made for the logged-in tourist
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> create(@RequestBody Map<String, Object> request) {
+        return handle(() -> {
+            Long touristId = currentUser().getUserId();
+            Object people = request.get("numberOfPeople");
+            Object tourDate = request.get("tourDate");
+            String bookingId = bookingEventLog.create(touristId,
+                    (String) request.get("tourName"),
+                    tourDate == null ? null : LocalDate.parse(tourDate.toString()),
+                    people == null ? 0 : Integer.parseInt(people.toString()),
+                    (String) request.get("specialInstruction"));
+            Map<String, Object> response = ok("Booking created");
+            response.put("bookingId", bookingId);
+            return response;
+        });
+    }
+
+    // Body: {"role": "DRIVER" | "GUIDE", "personId": 5}; admin only
+    @PostMapping("/{bookingId}/assign")
+    public ResponseEntity<Map<String, Object>> assign(@PathVariable String bookingId, @RequestBody Map<String, Object> request) {
+        return handle(() -> {
+            bookingEventLog.assign(bookingId, role(request), personId(request));
+            return ok("Booking assigned");
+        });
+    }
+
+    // The logged-in driver or guide accepts for themself; the log rejects anyone the booking is not assigned to
+    @PostMapping("/{bookingId}/accept")
+    public ResponseEntity<Map<String, Object>> accept(@PathVariable String bookingId) {
+        return handle(() -> {
+            SafariUserDetails user = currentUser();
+            TourAssignmentEngine.Kind role = switch (user.getRole()) {
+                case DRIVER -> TourAssignmentEngine.Kind.DRIVER;
+                case GUIDE -> TourAssignmentEngine.Kind.GUIDE;
+                default -> throw new AccessDeniedException("Only drivers and guides can accept bookings");
+            };
+            Long personId = tourAcceptanceService.personIdForUser(role, user.getUserId());
+            if (personId == null) {
+                throw new AccessDeniedException("No " + role.name().toLowerCase(Locale.ROOT) + " profile for the logged-in user");
+            }
+            bookingEventLog.accept(bookingId, role, personId);
+            return ok("Booking accepted");
+        });
+    }
+
+    @PostMapping("/{bookingId}/cancel")
+    public ResponseEntity<Map<String, Object>> cancel(@PathVariable String bookingId) {
+        return handle(() -> {
+            requireOwnerOrAdmin(bookingId);
+            bookingEventLog.cancel(bookingId);
+            return ok("Booking cancelled");
+        });
+    }
+
+    @GetMapping("/{bookingId}/events")
+    public ResponseEntity<Map<String, Object>> events(@PathVariable String bookingId) {
+        return handle(() -> {
+            requireOwnerOrAdmin(bookingId);
+            Map<String, Object> response = ok("Booking history");
+            response.put("events", bookingEventLog.history(bookingId));
+            return response;
+        });
+    }
+
+    // Regenerates tourist/guide/driver_bookings from the log; admin only
+    @PostMapping("/rebuild-projections")
+    public ResponseEntity<Map<String, Object>> rebuildProjections() {
+        return handle(() -> {
+            int events = bookingEventLog.rebuildProjections();
+            return ok("Replayed " + events + " booking events");
+        });
+    }
+
+    private interface Action {
+        Map<String, Object> run();
+    }
+
+    private static ResponseEntity<Map<String, Object>> handle(Action action) {
+        try {
+            return ResponseEntity.ok(action.run());
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(error(e.getMessage()));
+        }
+    }
+
+    private static SafariUserDetails currentUser() {
+        return CurrentUser.get().orElseThrow(() -> new AccessDeniedException("Login required"));
+    }
+
+    private void requireOwnerOrAdmin(String bookingId) {
+        SafariUserDetails user = currentUser();
+        if (!user.isAdmin() && !Objects.equals(bookingEventLog.touristId(bookingId), user.getUserId())) {
+            throw new AccessDeniedException("Only the tourist who made the booking or an administrator can do this");
+        }
+    }
+
+    private static Map<String, Object> ok(String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", message);
+        return response;
+    }
+
+    private static Map<String, Object> error(String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", message);
+        return response;
+    }
+
+    private static TourAssignmentEngine.Kind role(Map<String, Object> request) {
+        Object role = request.get("role");
+        return role == null ? null : TourAssignmentEngine.Kind.valueOf(role.toString().toUpperCase(Locale.ROOT));
+    }
+
+    private static Long personId(Map<String, Object> request) {
+        Object personId = request.get("personId");
+        return personId == null ? null : Long.valueOf(personId.toString());
+    }
+}
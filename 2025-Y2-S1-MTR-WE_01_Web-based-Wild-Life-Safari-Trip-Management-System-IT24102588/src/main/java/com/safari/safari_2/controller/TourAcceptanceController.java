@@ -0,0 +1,97 @@
+package com.safari.safari_2.controller;
+
+import com.safari.safari_2.security.CurrentUser;
+import com.safari.safari_2.service.TourAcceptanceService;
+import com.safari.safari_2.service.TourAssignmentEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/tour-acceptance")
+public class TourAcceptanceController {
+
+    @Autowired
+    private TourAcceptanceService tourAcceptanceService;
+
+    // Body: {"tourId": 1}; always accepts for the logged-in driver (a driverId, if sent, must be theirs)
+    @PostMapping("/driver")
+    public ResponseEntity<Map<String, Object>> acceptAsDriver(@RequestBody Map<String, Object> request) {
+        return accept(TourAssignmentEngine.Kind.DRIVER, request, "driverId");
+    }
+
+    // Body: {"tourId": 1}; always accepts for the logged-in guide (a guideId, if sent, must be theirs)
+    @PostMapping("/guide")
+    public ResponseEntity<Map<String, Object>> acceptAsGuide(@RequestBody Map<String, Object> request) {
+        return accept(TourAssignmentEngine.Kind.GUIDE, request, "guideId");
+    }
+
+    private ResponseEntity<Map<String, Object>> accept(TourAssignmentEngine.Kind kind, Map<String, Object> request,
+                                                       String personField) {
+        Map<String, Object> response = new HashMap<>();
+        Long tourId = asLong(request.get("tourId"));
+        // The caller can only accept for themself: the person comes from the principal, never the body
+        Long personId = CurrentUser.id().map(userId -> tourAcceptanceService.personIdForUser(kind, userId)).orElse(null);
+        if (personId == null) {
+            response.put("success", false);
+            response.put("message", "No " + personField.replace("Id", "") + " profile for the logged-in user");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+        }
+        Object requested = request.get(personField);
+        if (requested != null && !personId.equals(asLong(requested))) {
+            response.put("success", false);
+            response.put("message", "You can only accept tours for yourself");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+        }
+        if (tourId == null) {
+            response.put("success", false);
+            response.put("message", "tourId is required");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        TourAcceptanceService.Result result = tourAcceptanceService.accept(kind, tourId, personId);
+        response.put("success", result == TourAcceptanceService.Result.ACCEPTED
+                || result == TourAcceptanceService.Result.ALREADY_YOURS);
+        response.put("result", result);
+        switch (result) {
+            case ACCEPTED -> response.put("message", "Tour accepted");
+            case ALREADY_YOURS -> response.put("message", "You have already accepted this tour");
+            case TAKEN -> {
+                // The tour went to someone else first; nothing to retry
+                response.put("message", "Tour has already been accepted by another " + personField.replace("Id", ""));
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            }
+            case NOT_OFFERED -> {
+                response.put("message", "Tour is no longer open for acceptance");
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            }
+            case BUSY -> {
+                response.put("message", "You already have a tour on that date");
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            }
+            case NOT_FOUND -> {
+                response.put("message", "Tour not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    private static Long asLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof String text && !text.isBlank()) {
+            try {
+                return Long.valueOf(text.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.safari.safari_2.controller;
+
+import com.safari.safari_2.dto.AssignmentRunResult;
+import com.safari.safari_2.service.TourAssignmentEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/tour-assignments")
+public class TourAssignmentController {
+
+    @Autowired
+    private TourAssignmentEngine tourAssignmentEngine;
+
+    // Batch-assigns drivers and guides to every pending tour between from and to (inclusive); admin only
+    @PostMapping("/auto")
+    public ResponseEntity<Map<String, Object>> autoAssign(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            AssignmentRunResult result = tourAssignmentEngine.assignPending(from, to);
+            response.put("success", true);
+            response.put("message", result.getDriversAssigned() + " driver and " + result.getGuidesAssigned()
+                    + " guide assignments made for " + result.getToursConsidered() + " pending tours");
+            response.put("result", result);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
@@ -1,12 +1,25 @@
 package com.safari.safari_2.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.safari.safari_2.model.TouristUser;
+import com.safari.safari_2.repository.TouristUserRepository;
 import com.safari.safari_2.service.TouristUserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/tourist-users")
@@ -15,14 +28,48 @@ public class TouristUserController {
     @Autowired
     private TouristUserService touristUserService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @GetMapping
     public List<TouristUser> getAllTouristUsers() {
         return touristUserService.getAllTouristUsers();
     }
     
+    // Keyset pagination: follow nextCursor as afterId until it is null
+    @GetMapping("/page")
+    public Map<String, Object> getTouristUsersPage(@RequestParam(required = false) Long afterId,
+                                                   @RequestParam(required = false) Integer size) {
+        List<TouristUser> items = touristUserService.getTouristUsersPage(afterId, size);
+        Map<String, Object> response = new HashMap<>();
+        response.put("items", items);
+        boolean lastPage = items.size() < touristUserService.pageSize(size);
+        response.put("nextCursor", lastPage ? null : items.get(items.size() - 1).getId());
+        return response;
+    }
+    
+    // One JSON object per line, written while rows are read from the database
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamTouristUsers() {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+                touristUserService.streamAllTouristUsers(touristUser -> {
+                    try {
+                        writer.write(touristUser);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+    
+    // Conditional GET: If-None-Match is answered with 304 from the users.version column alone
     @GetMapping("/user/{userId}")
-    public Optional<TouristUser> getTouristUserByUserId(@PathVariable Long userId) {
-        return touristUserService.getTouristUserByUserId(userId);
+    public ResponseEntity<TouristUser> getTouristUserByUserId(@PathVariable Long userId, WebRequest webRequest) {
+        return conditional(touristUserService.getTouristUserVersionByUserId(userId),
+                () -> touristUserService.getTouristUserByUserId(userId), webRequest);
     }
     
     @GetMapping("/nationality/{nationality}")
@@ -31,21 +78,43 @@ public class TouristUserController {
     }
     
     @GetMapping("/email/{email}")
-    public Optional<TouristUser> getTouristUserByEmail(@PathVariable String email) {
-        return touristUserService.getTouristUserByEmail(email);
+    public ResponseEntity<TouristUser> getTouristUserByEmail(@PathVariable String email, WebRequest webRequest) {
+        return conditional(touristUserService.getTouristUserVersionByEmail(email),
+                () -> touristUserService.getTouristUserByEmail(email), webRequest);
     }
     
     @GetMapping("/username/{username}")
-    public Optional<TouristUser> getTouristUserByUsername(@PathVariable String username) {
-        return touristUserService.getTouristUserByUsername(username);
+    public ResponseEntity<TouristUser> getTouristUserByUsername(@PathVariable String username, WebRequest webRequest) {
+        return conditional(touristUserService.getTouristUserVersionByUsername(username),
+                () -> touristUserService.getTouristUserByUsername(username), webRequest);
     }
     
     @GetMapping("/nic/{nic}")
-    public Optional<TouristUser> getTouristUserByNic(@PathVariable String nic) {
-        return touristUserService.getTouristUserByNic(nic);
+    public ResponseEntity<TouristUser> getTouristUserByNic(@PathVariable String nic, WebRequest webRequest) {
+        return conditional(touristUserService.getTouristUserVersionByNic(nic),
+                () -> touristUserService.getTouristUserByNic(nic), webRequest);
+    }
+    
+    // Unknown tourists keep the old empty 200 response
+    private ResponseEntity<TouristUser> conditional(Optional<TouristUserRepository.VersionStamp> stamp,
+                                                    Supplier<Optional<TouristUser>> loader, WebRequest webRequest) {
+        if (stamp.isEmpty()) {
+            return ResponseEntity.ok().build();
+        }
+        String etag = etag(stamp.get().getUserId(), stamp.get().getVersion());
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        Optional<TouristUser> touristUser = loader.get();
+        if (touristUser.isEmpty()) {
+            return ResponseEntity.ok().build();
+        }
+        return ResponseEntity.ok().eTag(etag(touristUser.get().getUserId(), touristUser.get().getVersion()))
+                .body(touristUser.get());
+    }
+    
+    // Numeric id only: the lookup key (email, NIC, username) must not end up in headers or caches
+    private static String etag(Long userId, Long version) {
+        return "\"t" + userId + "-v" + version + "\"";
     }
 }
-
-
-
-
@@ -1,11 +1,24 @@
 package com.safari.safari_2.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safari.safari_2.dto.BatchPatchResult;
+import com.safari.safari_2.dto.BulkRegisterResult;
 import com.safari.safari_2.dto.RegisterDTO;
+import com.safari.safari_2.dto.UserPatchDTO;
 import com.safari.safari_2.model.User;
+import com.safari.safari_2.security.CurrentUser;
+import com.safari.safari_2.security.HashingCapacityExceededException;
+import com.safari.safari_2.service.BulkRegistrationService;
+import com.safari.safari_2.service.UserPatchService;
 import com.safari.safari_2.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Optional;
 import java.util.HashMap;
 import java.util.Map;
@@ -17,6 +30,15 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BulkRegistrationService bulkRegistrationService;
+
+    @Autowired
+    private UserPatchService userPatchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping("/register")
     public ResponseEntity<Map<String, Object>> register(@RequestBody Map<String, Object> request) {
         try {
@@ -65,6 +87,8 @@ public class UserController {
             response.put("userId", user.getId());
             return ResponseEntity.ok(response);
             
+        } catch (HashingCapacityExceededException e) {
+            return serverBusy(e);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -73,16 +97,78 @@ public class UserController {
         }
     }
 
+    // Admin only (SecurityConfig). Accepts a JSON array or newline-delimited JSON objects; rows are read
+    // as a stream, never buffered whole. A 503 still carries what was imported and where to resume.
+    @PostMapping(value = "/bulk-register", consumes = {"application/json", "application/x-ndjson"})
+    public ResponseEntity<Map<String, Object>> bulkRegister(InputStream body) {
+        try (MappingIterator<RegisterDTO> rows = objectMapper.readerFor(RegisterDTO.class).readValues(body)) {
+            BulkRegisterResult result = bulkRegistrationService.importUsers(rows);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", result.getFailed() == 0 && !result.isStopped());
+            response.put("imported", result.getImported());
+            response.put("failed", result.getFailed());
+            response.put("errors", result.getErrors());
+            if (result.isStopped()) {
+                response.put("message", "Import stopped at row " + result.getResumeFromRow() + " (" + result.getStopReason()
+                        + "): " + result.getImported() + " users imported, " + result.getFailed() + " rejected");
+                response.put("resumeFromRow", result.getResumeFromRow());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(response);
+            }
+            response.put("message", result.getImported() + " users imported, " + result.getFailed() + " rejected");
+            return ResponseEntity.ok(response);
+
+        } catch (HashingCapacityExceededException e) {
+            return serverBusy(e);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Bulk registration failed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    // Conditional GET: If-None-Match is answered with 304 from the version column alone,
+    // the entity is only loaded and serialized when it changed
     @GetMapping("/{userId}")
-    public ResponseEntity<User> getUserById(@PathVariable Long userId) {
+    public ResponseEntity<User> getUserById(@PathVariable Long userId, WebRequest webRequest) {
+        Optional<Long> version = userService.getUserVersion(userId);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = etag(userId, version.get());
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         Optional<User> user = userService.getUserById(userId);
         if (user.isPresent()) {
-            return ResponseEntity.ok(user.get());
+            return ResponseEntity.ok().eTag(etag(userId, user.get().getVersion())).body(user.get());
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
+    private static String etag(Long userId, Long version) {
+        return "\"u" + userId + "-v" + version + "\"";
+    }
+
+    // "u<id>-v<version>" (quoted, optionally weak) -> version; null if it is not this user's ETag
+    private static Long versionFromETag(Long userId, String ifMatch) {
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        String prefix = "\"u" + userId + "-v";
+        if (!value.startsWith(prefix) || !value.endsWith("\"")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.substring(prefix.length(), value.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     @PutMapping("/{userId}")
     public ResponseEntity<Map<String, Object>> updateUser(@PathVariable Long userId, @RequestBody Map<String, String> request) {
         try {
@@ -104,6 +190,54 @@ public class UserController {
         }
     }
 
+    // Partial update: one UPDATE for the supplied fields. Send If-Match with the ETag from GET
+    // (or "version" in the body) to fail with 412 instead of overwriting someone else's change.
+    // Users may patch themselves; administrators anyone.
+    @PatchMapping("/{userId}")
+    public ResponseEntity<Map<String, Object>> patchUser(@PathVariable Long userId, @RequestBody UserPatchDTO patch,
+                                                         @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        if (!CurrentUser.get().map(user -> user.isAdmin() || userId.equals(user.getUserId())).orElse(false)) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "You can only update your own account");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+        }
+        patch.setUserId(userId);
+        if (ifMatch != null) {
+            Long version = versionFromETag(userId, ifMatch);
+            if (version == null) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", false);
+                response.put("message", "If-Match does not match this user");
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(response);
+            }
+            patch.setVersion(version);
+        }
+
+        UserPatchService.Outcome outcome = userPatchService.patch(patch);
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", outcome.status() == UserPatchService.Status.UPDATED);
+        response.put("message", outcome.message());
+        if (outcome.version() != null) {
+            response.put("version", outcome.version());
+            return ResponseEntity.ok().eTag(etag(userId, outcome.version())).body(response);
+        }
+        return ResponseEntity.status(UserPatchService.httpStatus(outcome.status())).body(response);
+    }
+
+    // Admin console (ROLE_ADMIN, see SecurityConfig): many partial updates in one request, each reported separately
+    @PatchMapping("/batch")
+    public ResponseEntity<Map<String, Object>> patchUsers(@RequestBody List<UserPatchDTO> patches) {
+        BatchPatchResult result = userPatchService.patchAll(patches);
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", result.getFailed() == 0);
+        response.put("message", result.getUpdated() + " users updated, " + result.getFailed() + " rejected");
+        response.put("updated", result.getUpdated());
+        response.put("failed", result.getFailed());
+        response.put("errors", result.getErrors());
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{userId}")
     public ResponseEntity<Map<String, Object>> deleteUser(@PathVariable Long userId) {
         try {
@@ -124,4 +258,11 @@ public class UserController {
             return ResponseEntity.badRequest().body(response);
         }
     }
+
+    private ResponseEntity<Map<String, Object>> serverBusy(Exception e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(response);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.safari.safari_2.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class AssignmentRunResult {
+
+    private LocalDate from;
+    private LocalDate to;
+    private int toursConsidered;
+    private int driversAssigned;
+    private int guidesAssigned;
+    private int conflicts; // slots taken by someone else between our read and our conditional update
+    private long elapsedMillis;
+    private List<Unassigned> unassigned = new ArrayList<>();
+
+    public synchronized void add(int tours, int drivers, int guides, int conflicts, List<Unassigned> unassigned) {
+        this.toursConsidered += tours;
+        this.driversAssigned += drivers;
+        this.guidesAssigned += guides;
+        this.conflicts += conflicts;
+        this.unassigned.addAll(unassigned);
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Unassigned {
+        private Long tourId;
+        private LocalDate tourDate;
+        private String reason;
+    }
+}
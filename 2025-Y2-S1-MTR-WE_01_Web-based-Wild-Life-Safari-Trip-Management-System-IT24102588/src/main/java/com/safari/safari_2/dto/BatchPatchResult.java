@@ -0,0 +1,33 @@
+package com.safari.safari_2.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BatchPatchResult {
+
+    private int updated;
+    private int failed;
+    private List<RowError> errors = new ArrayList<>();
+
+    public void addUpdated(int count) {
+        updated += count;
+    }
+
+    public void addError(int row, Long userId, int status, String message) {
+        failed++;
+        errors.add(new RowError(row, userId, status, message));
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private int row; // 0-based position in the submitted list
+        private Long userId;
+        private int status; // HTTP status the same patch would get on its own (400, 404, 409, 412)
+        private String message;
+    }
+}
@@ -0,0 +1,44 @@
+package com.safari.safari_2.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkRegisterResult {
+
+    private int imported;
+    private int failed;
+    private List<RowError> errors = new ArrayList<>();
+    // Set when the import stopped early: rows from here on were neither imported nor reported
+    private Integer resumeFromRow;
+    private String stopReason;
+
+    public void addImported(int count) {
+        imported += count;
+    }
+
+    public void addError(int row, String username, String message) {
+        failed++;
+        errors.add(new RowError(row, username, message));
+    }
+
+    public void stop(int row, String reason) {
+        resumeFromRow = row;
+        stopReason = reason;
+    }
+
+    public boolean isStopped() {
+        return resumeFromRow != null;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private int row; // 0-based position in the submitted stream
+        private String username;
+        private String message;
+    }
+}
@@ -0,0 +1,15 @@
+package com.safari.safari_2.dto;
+
+import lombok.Data;
+
+// Partial profile update: only non-null fields are written
+@Data
+public class UserPatchDTO {
+
+    private Long userId; // taken from the path for single updates
+    private Long version; // optional expected version (optimistic check); If-Match takes precedence
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String contactNumber;
+}
@@ -1,13 +1,20 @@
 package com.safari.safari_2.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
 
+// Read-only projection of tourist rows in users; the users row is the single source of truth
 @Entity
-@Table(name = "tourists")
+@Immutable
+@Subselect("select u.user_id as id, u.user_id, u.email, u.nationality, u.first_name, u.last_name, " +
+        "u.contact_number, u.nic, u.username from users u where u.role = 'TOURIST' and u.deleted_at is null")
+@Synchronize("users")
 public class Tourist {
     
+    // Same value as userId
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
     @Column(name = "user_id", nullable = false)
@@ -1,13 +1,20 @@
 package com.safari.safari_2.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
 
+// Read-only projection of tourist rows in users; the users row is the single source of truth
 @Entity
-@Table(name = "tourist_users")
+@Immutable
+@Subselect("select u.user_id as id, u.user_id, u.email, u.nationality, u.nic, u.username, u.version " +
+        "from users u where u.role = 'TOURIST' and u.deleted_at is null")
+@Synchronize("users")
 public class TouristUser {
     
+    // Same value as userId
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
     @Column(name = "user_id", nullable = false, unique = true)
@@ -25,6 +32,10 @@ public class TouristUser {
     @Column(name = "username", nullable = false)
     private String username;
     
+    // users.version of the underlying row
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     // Constructors
     public TouristUser() {}
     
@@ -84,6 +95,14 @@ public class TouristUser {
     public void setUsername(String username) {
         this.username = username;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
 
 
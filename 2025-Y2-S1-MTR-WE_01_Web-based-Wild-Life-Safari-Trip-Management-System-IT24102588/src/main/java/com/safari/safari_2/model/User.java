@@ -5,9 +5,17 @@ import com.safari.safari_2.enums.Role;
 import com.safari.safari_2.enums.VehicleType;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.SQLRestriction;
+
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // countByRole, and the tourist projections' role = 'TOURIST' [AND nationality = ?] filter
+        @Index(name = "idx_users_role_nationality", columnList = "role, nationality")
+})
+// Soft-deleted users (safari.users.delete-mode=soft) are invisible to every query until purged
+@SQLRestriction("deleted_at is null")
 @Data
 public class User {
 
@@ -54,4 +62,13 @@ public class User {
 
     @Enumerated(EnumType.STRING)
     private VehicleType vehicleType;
+
+    // Optimistic-lock version; also the basis of the user and tourist ETags
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    private Long version;
+
+    // Tombstone set by soft delete
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.safari.safari_2.repository;
 
 import com.safari.safari_2.model.Tourist;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -15,4 +16,7 @@ public interface TouristRepository extends JpaRepository<Tourist, Long> {
     
     // Find tourists by nationality
     List<Tourist> findByNationality(String nationality);
+    
+    // Keyset page: the next tourists after the given id, in id order
+    List<Tourist> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
@@ -1,7 +1,10 @@
 package com.safari.safari_2.repository;
 
 import com.safari.safari_2.model.TouristUser;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -24,8 +27,25 @@ public interface TouristUserRepository extends JpaRepository<TouristUser, Long>
     
     // Find tourist user by NIC
     Optional<TouristUser> findByNic(String nic);
+    
+    // Id and version of the tourist's users row, for ETag checks without loading the entity
+    interface VersionStamp {
+        Long getUserId();
+        Long getVersion();
+    }
+    
+    @Query("select t.userId as userId, t.version as version from TouristUser t where t.userId = :userId")
+    Optional<VersionStamp> findVersionByUserId(@Param("userId") Long userId);
+    
+    @Query("select t.userId as userId, t.version as version from TouristUser t where t.username = :username")
+    Optional<VersionStamp> findVersionByUsername(@Param("username") String username);
+    
+    @Query("select t.userId as userId, t.version as version from TouristUser t where t.email = :email")
+    Optional<VersionStamp> findVersionByEmail(@Param("email") String email);
+    
+    @Query("select t.userId as userId, t.version as version from TouristUser t where t.nic = :nic")
+    Optional<VersionStamp> findVersionByNic(@Param("nic") String nic);
+    
+    // Keyset page: the next tourist users after the given id, in id order
+    List<TouristUser> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
-
-
-
-
@@ -4,8 +4,13 @@ package com.safari.safari_2.repository;
 import com.safari.safari_2.enums.Role;
 import com.safari.safari_2.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +19,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByNic(String nic);
     long countByRole(Role role);
+
+    @Modifying
+    @Query("update User u set u.password = :password, u.version = u.version + 1 where u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
+    // ETag check without loading the entity
+    @Query("select u.version from User u where u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Set-based uniqueness probes used by bulk registration
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select u.nic from User u where u.nic in :nics")
+    List<String> findExistingNics(@Param("nics") Collection<String> nics);
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.safari.safari_2.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the highest BCrypt strength whose hash time stays within a latency target on this machine.
+ * Each strength step doubles the work, so only the lowest strength is measured.
+ */
+public final class BcryptCostCalibrator {
+
+    private static final int SAMPLES = 3;
+
+    private BcryptCostCalibrator() {
+    }
+
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        // First hash warms up the JIT and is not counted
+        encoder.encode("calibration");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < SAMPLES; i++) {
+            encoder.encode("calibration");
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / SAMPLES;
+
+        int strength = minStrength;
+        while (strength < maxStrength && millis * 2 <= targetMillis) {
+            millis *= 2;
+            strength++;
+        }
+        return strength;
+    }
+}
@@ -0,0 +1,27 @@
+package com.safari.safari_2.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Reads the logged-in user from the security context without a database lookup.
+ */
+public final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    public static Optional<SafariUserDetails> get() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof SafariUserDetails principal) {
+            return Optional.of(principal);
+        }
+        return Optional.empty();
+    }
+
+    public static Optional<Long> id() {
+        return get().map(SafariUserDetails::getUserId);
+    }
+}
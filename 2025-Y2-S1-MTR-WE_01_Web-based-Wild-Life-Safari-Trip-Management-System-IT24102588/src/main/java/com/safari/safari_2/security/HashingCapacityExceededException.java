@@ -0,0 +1,15 @@
+package com.safari.safari_2.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown when the password hashing pool is saturated.
+ * It is an AuthenticationServiceException so form login routes it to the failure handler
+ * instead of surfacing as a 500; callers answer it with 503.
+ */
+public class HashingCapacityExceededException extends AuthenticationServiceException {
+
+    public HashingCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,87 @@
+package com.safari.safari_2.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the {@link RateLimiter} budgets in front of authentication:
+ * form login per client IP and per submitted username, registration per IP, other /api/** calls per IP.
+ * An HTTP Basic credential is a login attempt wherever it is sent, so it is charged to the login budgets too.
+ * Rejected requests get 429 with Retry-After before any password hashing happens.
+ * Client IP is the remote address; behind a proxy set server.forward-headers-strategy so it is the real client.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String ip = request.getRemoteAddr();
+        boolean post = "POST".equals(request.getMethod());
+
+        long wait = RateLimiter.ADMITTED;
+        String basicUsername = basicUsername(request);
+        if (post && "/login".equals(path)) {
+            wait = login(ip, request.getParameter("username"));
+        } else if (basicUsername != null) {
+            wait = login(ip, basicUsername);
+        }
+        if (wait == RateLimiter.ADMITTED && !"/login".equals(path)) {
+            if (post && (path.equals("/api/users/register") || path.equals("/api/users/bulk-register"))) {
+                wait = rateLimiter.acquire(RateLimiter.Budget.REGISTER_IP, ip);
+            } else if (path.startsWith("/api/")) {
+                wait = rateLimiter.acquire(RateLimiter.Budget.API_IP, ip);
+            }
+        }
+
+        if (wait != RateLimiter.ADMITTED) {
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(seconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"success\":false,\"message\":\"Too many requests, retry in " + seconds + " s\"}");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private long login(String ip, String username) {
+        long wait = rateLimiter.acquire(RateLimiter.Budget.LOGIN_IP, ip);
+        if (wait == RateLimiter.ADMITTED && username != null && !username.isBlank()) {
+            wait = rateLimiter.acquire(RateLimiter.Budget.LOGIN_USERNAME, username.trim().toLowerCase(Locale.ROOT));
+        }
+        return wait;
+    }
+
+    // Username of an "Authorization: Basic" header, "" if the header is there but unreadable, null if absent
+    private static String basicUsername(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (header == null || !header.regionMatches(true, 0, "Basic ", 0, 6)) {
+            return null;
+        }
+        try {
+            String credentials = new String(Base64.getDecoder().decode(header.substring(6).trim()), StandardCharsets.UTF_8);
+            int colon = credentials.indexOf(':');
+            return colon < 0 ? "" : credentials.substring(0, colon);
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+}
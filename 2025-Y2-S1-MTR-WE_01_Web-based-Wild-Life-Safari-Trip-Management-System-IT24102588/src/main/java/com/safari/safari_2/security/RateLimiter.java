@@ -0,0 +1,103 @@
+package com.safari.safari_2.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets, one per (budget, client key), using GCRA: each bucket is a single
+ * AtomicLong holding the theoretical arrival time of the next request, advanced with CAS.
+ * A bucket whose arrival time has passed is full again and carries no state, so idle buckets
+ * are dropped by a periodic sweep; max-keys bounds memory between sweeps.
+ */
+@Component
+public class RateLimiter {
+
+    public enum Budget { LOGIN_IP, LOGIN_USERNAME, REGISTER_IP, API_IP }
+
+    // Nanoseconds to wait before retrying; 0 means the request was admitted
+    public static final long ADMITTED = 0;
+
+    private record Limit(long intervalNanos, long burstNanos) {
+        static Limit perMinute(int requests, int burst) {
+            long interval = TimeUnit.MINUTES.toNanos(1) / Math.max(1, requests);
+            return new Limit(interval, interval * Math.max(1, burst));
+        }
+    }
+
+    private final Map<Budget, Limit> limits;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(@Value("${safari.rate-limit.login-ip.per-minute:30}") int loginIpRate,
+                       @Value("${safari.rate-limit.login-ip.burst:10}") int loginIpBurst,
+                       @Value("${safari.rate-limit.login-username.per-minute:10}") int loginUserRate,
+                       @Value("${safari.rate-limit.login-username.burst:5}") int loginUserBurst,
+                       @Value("${safari.rate-limit.register-ip.per-minute:10}") int registerRate,
+                       @Value("${safari.rate-limit.register-ip.burst:5}") int registerBurst,
+                       @Value("${safari.rate-limit.api-ip.per-minute:600}") int apiRate,
+                       @Value("${safari.rate-limit.api-ip.burst:100}") int apiBurst,
+                       @Value("${safari.rate-limit.max-keys:100000}") int maxKeys) {
+        this.limits = Map.of(
+                Budget.LOGIN_IP, Limit.perMinute(loginIpRate, loginIpBurst),
+                Budget.LOGIN_USERNAME, Limit.perMinute(loginUserRate, loginUserBurst),
+                Budget.REGISTER_IP, Limit.perMinute(registerRate, registerBurst),
+                Budget.API_IP, Limit.perMinute(apiRate, apiBurst));
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one token for the key from the budget.
+     * Returns {@link #ADMITTED} or the nanoseconds until a token is available.
+     */
+    public long acquire(Budget budget, String key) {
+        Limit limit = limits.get(budget);
+        long now = System.nanoTime();
+        AtomicLong bucket = bucket(budget.name() + ':' + key, now);
+        if (bucket == null) {
+            // Key table full of active clients: refuse rather than grow without bound
+            return limit.intervalNanos();
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + limit.intervalNanos();
+            long backlog = next - now;
+            if (backlog > limit.burstNanos()) {
+                return backlog - limit.burstNanos();
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return ADMITTED;
+            }
+        }
+    }
+
+    private AtomicLong bucket(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            evictIdle();
+            if (buckets.size() >= maxKeys) {
+                return null;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    // A bucket whose arrival time is in the past is full; dropping it changes nothing
+    @Scheduled(fixedDelayString = "${safari.rate-limit.sweep-interval-millis:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() - now <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
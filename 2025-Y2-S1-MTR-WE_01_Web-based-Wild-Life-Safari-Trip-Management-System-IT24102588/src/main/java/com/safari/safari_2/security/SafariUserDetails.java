@@ -0,0 +1,42 @@
+package com.safari.safari_2.security;
+
+import com.safari.safari_2.enums.Role;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+/**
+ * Authenticated principal carrying the user id, role and admin flag from the login lookup,
+ * so nothing after authentication has to query the users table again.
+ */
+public class SafariUserDetails extends User {
+
+    private final Long userId;
+    private final Role role;
+    private final boolean admin;
+
+    public SafariUserDetails(Long userId, String username, String password, Role role) {
+        super(username, password, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        this.userId = userId;
+        this.role = role;
+        // Only the stored role grants admin rights; usernames can be self-registered
+        this.admin = role == Role.ADMIN;
+    }
+
+    public SafariUserDetails withPassword(String password) {
+        return new SafariUserDetails(userId, getUsername(), password, role);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public boolean isAdmin() {
+        return admin;
+    }
+}
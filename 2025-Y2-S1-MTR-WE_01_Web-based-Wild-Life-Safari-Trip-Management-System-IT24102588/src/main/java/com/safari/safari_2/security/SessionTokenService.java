@@ -0,0 +1,153 @@
+package com.safari.safari_2.security;
+
+import com.safari.safari_2.enums.Role;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Stateless session mode (safari.session.mode=token): the login claims travel in an HMAC-SHA256 signed token
+ * instead of the servlet session, so any instance can serve any request without a shared session store.
+ *
+ * Token: base64url("v1|userId|role|issuedAtSeconds|expiresAtSeconds|username") + "." + base64url(signature).
+ * Sent as the SAFARI_SESSION cookie (HttpOnly, SameSite=Lax) or an "Authorization: Bearer" header.
+ * Tokens cannot be revoked individually; they expire after the TTL or when the secret rotates. Renewal (while in use)
+ * re-checks the account first, so a deleted user's token stops working once it is due for renewal.
+ */
+@Component
+public class SessionTokenService {
+
+    public static final String COOKIE_NAME = "SAFARI_SESSION";
+
+    private static final String VERSION = "v1";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public record Claims(Long userId, String username, Role role, long issuedAt, long expiresAt) {
+    }
+
+    private final boolean enabled;
+    private final String secret;
+    private final Duration ttl;
+    private SecretKeySpec key;
+
+    public SessionTokenService(@Value("${safari.session.mode:servlet}") String mode,
+                               @Value("${safari.session.token-secret:}") String secret,
+                               @Value("${safari.session.token-ttl-minutes:480}") long ttlMinutes) {
+        this.enabled = "token".equalsIgnoreCase(mode);
+        this.secret = secret;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        // Every instance must share the secret, so a generated one would defeat the purpose
+        if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < 32) {
+            throw new IllegalStateException("safari.session.mode=token needs safari.session.token-secret of at least 32 bytes");
+        }
+        key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String encode(SafariUserDetails user) {
+        long now = System.currentTimeMillis() / 1000;
+        String payload = String.join("|", VERSION, String.valueOf(user.getUserId()), user.getRole().name(),
+                String.valueOf(now), String.valueOf(now + ttl.toSeconds()), user.getUsername());
+        String body = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return body + "." + ENCODER.encodeToString(sign(body));
+    }
+
+    // Empty for a missing, malformed, forged or expired token
+    public Optional<Claims> decode(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return Optional.empty();
+        }
+        try {
+            String body = token.substring(0, dot);
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(body), signature)) {
+                return Optional.empty();
+            }
+            // Username last and split with a limit, so a '|' inside it cannot shift the other fields
+            String[] fields = new String(DECODER.decode(body), StandardCharsets.UTF_8).split("\\|", 6);
+            if (fields.length != 6 || !VERSION.equals(fields[0])) {
+                return Optional.empty();
+            }
+            Claims claims = new Claims(Long.valueOf(fields[1]), fields[5], Role.valueOf(fields[2]),
+                    Long.parseLong(fields[3]), Long.parseLong(fields[4]));
+            if (claims.expiresAt() <= System.currentTimeMillis() / 1000) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            return Optional.empty();
+        }
+    }
+
+    // Past half its lifetime a token in use is replaced, so active users are not logged out mid-visit
+    public boolean needsRenewal(Claims claims) {
+        long now = System.currentTimeMillis() / 1000;
+        return now - claims.issuedAt() > (claims.expiresAt() - claims.issuedAt()) / 2;
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith("Bearer ")) {
+            return header.substring("Bearer ".length()).trim();
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    public void issue(HttpServletRequest request, HttpServletResponse response, SafariUserDetails user) {
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, encode(user))
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(ttl)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private byte[] sign(String body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(body.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.safari.safari_2.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Token mode: authenticates each request from its signed token alone (no session store, no database lookup)
+ * and swaps the servlet session for a {@link TokenHttpSession}, so no JSESSIONID is ever created.
+ * Past half its lifetime a token is checked against the account again (through the user cache): a deleted
+ * account is no longer authenticated, a changed role is picked up, and a cookie token is re-issued.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private final SessionTokenService tokenService;
+    private final UserDetailsService userDetailsService;
+
+    public TokenAuthenticationFilter(SessionTokenService tokenService, UserDetailsService userDetailsService) {
+        this.tokenService = tokenService;
+        this.userDetailsService = userDetailsService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SessionTokenService.Claims claims = tokenService.decode(tokenService.resolve(request)).orElse(null);
+        boolean renew = claims != null && tokenService.needsRenewal(claims);
+        if (renew) {
+            claims = revalidate(claims);
+        }
+
+        if (claims != null) {
+            // Password is never needed after login; the token itself is the credential
+            SafariUserDetails user = new SafariUserDetails(claims.userId(), claims.username(), "", claims.role());
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+            SecurityContextHolder.setContext(context);
+
+            if (renew && request.getHeader("Authorization") == null) {
+                tokenService.issue(request, response, user);
+            }
+        }
+
+        chain.doFilter(new TokenSessionRequest(request, claims), response);
+    }
+
+    // Current claims for the account, or null when it no longer exists (or is now a different user)
+    private SessionTokenService.Claims revalidate(SessionTokenService.Claims claims) {
+        UserDetails loaded;
+        try {
+            loaded = userDetailsService.loadUserByUsername(claims.username());
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+        if (!(loaded instanceof SafariUserDetails user) || !claims.userId().equals(user.getUserId()) || !user.isEnabled()) {
+            return null;
+        }
+        return new SessionTokenService.Claims(user.getUserId(), user.getUsername(), user.getRole(),
+                claims.issuedAt(), claims.expiresAt());
+    }
+
+    private static class TokenSessionRequest extends HttpServletRequestWrapper {
+
+        private final SessionTokenService.Claims claims;
+        private HttpSession session;
+
+        TokenSessionRequest(HttpServletRequest request, SessionTokenService.Claims claims) {
+            super(request);
+            this.claims = claims;
+            if (claims != null) {
+                session = new TokenHttpSession(request.getServletContext(), claims);
+            }
+        }
+
+        @Override
+        public HttpSession getSession(boolean create) {
+            if (session == null && create) {
+                session = new TokenHttpSession(getServletContext(), claims);
+            }
+            return session;
+        }
+
+        @Override
+        public HttpSession getSession() {
+            return getSession(true);
+        }
+
+        // Session fixation protection has nothing to rotate; the token is replaced on login instead
+        @Override
+        public String changeSessionId() {
+            if (session == null) {
+                throw new IllegalStateException("No session");
+            }
+            return session.getId();
+        }
+
+        @Override
+        public boolean isRequestedSessionIdValid() {
+            return session != null;
+        }
+    }
+}
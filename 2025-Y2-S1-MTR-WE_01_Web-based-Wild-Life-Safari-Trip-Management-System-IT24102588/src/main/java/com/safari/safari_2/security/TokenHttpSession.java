@@ -0,0 +1,105 @@
+package com.safari.safari_2.security;
+
+import com.safari.safari_2.enums.Role;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpSession;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Request-scoped stand-in for the servlet session in token mode. It starts with the attributes the login
+ * handler would have stored (userId, adminId, driverId, guideId), so existing getSession().getAttribute(...)
+ * callers keep working; anything written to it is dropped when the request ends.
+ */
+class TokenHttpSession implements HttpSession {
+
+    private final ServletContext servletContext;
+    private final Map<String, Object> attributes = new HashMap<>();
+    private final long creationTime = System.currentTimeMillis();
+    private final String id = UUID.randomUUID().toString();
+    private boolean isNew = true;
+
+    TokenHttpSession(ServletContext servletContext, SessionTokenService.Claims claims) {
+        this.servletContext = servletContext;
+        if (claims != null) {
+            // Same attributes CustomAuthenticationSuccessHandler stores in session mode
+            attributes.put("userId", claims.userId());
+            if (claims.role() == Role.ADMIN) {
+                attributes.put("adminId", claims.userId());
+            } else if (claims.role() == Role.DRIVER) {
+                attributes.put("driverId", claims.userId());
+            } else if (claims.role() == Role.GUIDE) {
+                attributes.put("guideId", claims.userId());
+            }
+            isNew = false;
+        }
+    }
+
+    @Override
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public long getLastAccessedTime() {
+        return creationTime;
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return servletContext;
+    }
+
+    @Override
+    public void setMaxInactiveInterval(int interval) {
+        // Lifetime is the token's, not the session's
+    }
+
+    @Override
+    public int getMaxInactiveInterval() {
+        return -1;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public void invalidate() {
+        attributes.clear();
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+}
@@ -0,0 +1,152 @@
+package com.safari.safari_2.security;
+
+import com.safari.safari_2.enums.Role;
+import com.safari.safari_2.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, TTL-limited cache of the user fields needed to authenticate.
+ * It stores immutable snapshots rather than UserDetails, because Spring Security erases
+ * credentials on the UserDetails it hands out.
+ * Loads are stamped with the invalidation counter, so a load that raced an eviction
+ * is never written back as stale data.
+ */
+@Component
+public class UserDetailsCache {
+
+    public record CachedUser(Long id, String username, String password, Role role) {
+        public static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getUsername(), user.getPassword(), user.getRole());
+        }
+    }
+
+    private record Entry(CachedUser user, long expiresAt) {
+    }
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Entry> entries;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserDetailsCache(@Value("${safari.security.user-cache.enabled:true}") boolean enabled,
+                            @Value("${safari.security.user-cache.max-size:10000}") int maxSize,
+                            @Value("${safari.security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        // Access-ordered so the eldest entry is the least recently used
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > UserDetailsCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public CachedUser get(String username) {
+        if (!enabled) {
+            misses.increment();
+            return null;
+        }
+        String key = key(username);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+                hits.increment();
+                return entry.user();
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    // Take before reading the database; pass to put() afterwards
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    public void put(String username, CachedUser user, long stamp) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (entries) {
+            if (invalidations.get() == stamp) {
+                entries.put(key(username), new Entry(user, System.currentTimeMillis() + ttlMillis));
+            }
+        }
+    }
+
+    public void evict(String username) {
+        synchronized (entries) {
+            invalidations.incrementAndGet();
+            if (entries.remove(key(username)) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    // Evicts now and again once the surrounding transaction commits, so readers that loaded
+    // the pre-commit row in between do not keep it
+    public void evictOnCommit(String username) {
+        evict(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(username);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            invalidations.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,256 @@
+package com.safari.safari_2.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory answer to "which drivers/guides are free on a date and speak a language", without touching SQL Server.
+ *
+ * Per kind, every person gets a dense slot number. One bitset per day of the horizon marks the busy slots,
+ * one bitset per language the speakers, one more the people flagged is_available; a query is a couple of
+ * BitSet and/andNot operations. Built at startup and rebuilt nightly (which also rolls the horizon forward),
+ * and kept current in between by {@link StaffingChangedEvent}s: bookings from the assignment engine and tour
+ * acceptance, releases from user deletion. Anything else (tours cancelled or unassigned by other code or
+ * directly in the database, changes to drivers/guides) shows up at the next rebuild.
+ */
+@Component
+public class AvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityIndex.class);
+
+    private static final class Calendar {
+        final LocalDate firstDay;
+        final long[] ids;
+        final Map<Long, Integer> slots;
+        final BitSet available;
+        final Map<String, BitSet> speakers;
+        final BitSet[] busy; // index: days since firstDay
+
+        Calendar(LocalDate firstDay, long[] ids, Map<Long, Integer> slots, BitSet available,
+                 Map<String, BitSet> speakers, int days) {
+            this.firstDay = firstDay;
+            this.ids = ids;
+            this.slots = slots;
+            this.available = available;
+            this.speakers = speakers;
+            this.busy = new BitSet[days];
+            for (int day = 0; day < days; day++) {
+                busy[day] = new BitSet(ids.length);
+            }
+        }
+
+        // -1 outside the horizon
+        int day(LocalDate date) {
+            long day = date.toEpochDay() - firstDay.toEpochDay();
+            return day < 0 || day >= busy.length ? -1 : (int) day;
+        }
+
+        void mark(long personId, LocalDate date, boolean isBusy) {
+            Integer slot = slots.get(personId);
+            int day = day(date);
+            if (slot != null && day >= 0) {
+                busy[day].set(slot, isBusy);
+            }
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${safari.availability.horizon-days:365}")
+    private int horizonDays;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<TourAssignmentEngine.Kind, Calendar> calendars = new HashMap<>();
+    // Events seen while a rebuild is reading the database, replayed onto the new calendars
+    private List<StaffingChangedEvent> duringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${safari.availability.rebuild-cron:0 5 0 * * *}")
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            duringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<TourAssignmentEngine.Kind, Calendar> built = new HashMap<>();
+        try {
+            LocalDate today = LocalDate.now();
+            for (TourAssignmentEngine.Kind kind : TourAssignmentEngine.Kind.values()) {
+                built.put(kind, load(kind, today));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Availability index not rebuilt: {}", e.getMessage());
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (built.size() == TourAssignmentEngine.Kind.values().length) {
+                duringRebuild.forEach(event -> built.get(event.kind()).mark(event.personId(), event.date(), event.busy()));
+                calendars.putAll(built);
+                log.info("Availability index built: {} drivers, {} guides, {} days in {} ms",
+                        built.get(TourAssignmentEngine.Kind.DRIVER).ids.length,
+                        built.get(TourAssignmentEngine.Kind.GUIDE).ids.length,
+                        horizonDays, System.currentTimeMillis() - started);
+            }
+            duringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // After commit when published inside a transaction, so a rolled-back accept never marks anyone busy
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStaffingChanged(StaffingChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            // The bitset has no count: a release only frees the day if no other tour keeps the person busy on it.
+            // Checked under the write lock, so a booking for the same day cannot be applied between the check and
+            // the mark; one committed later still arrives (and marks busy) after this event.
+            if (!event.busy() && stillBusy(event)) {
+                return;
+            }
+            Calendar calendar = calendars.get(event.kind());
+            if (calendar != null) {
+                calendar.mark(event.personId(), event.date(), event.busy());
+            }
+            if (duringRebuild != null) {
+                duringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean stillBusy(StaffingChangedEvent event) {
+        Date day = Date.valueOf(event.date());
+        List<Long> busy = jdbcTemplate.query(event.kind().busySql(), (rs, i) -> rs.getLong(1), day, day, day, day);
+        return busy.contains(event.personId());
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return !calendars.isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of people flagged available, not booked on the date and, when a language is given, speaking it.
+     */
+    public List<Long> free(TourAssignmentEngine.Kind kind, LocalDate date, String language) {
+        lock.readLock().lock();
+        try {
+            Calendar calendar = calendar(kind);
+            int day = dayOrThrow(calendar, date);
+            BitSet free = (BitSet) calendar.available.clone();
+            free.andNot(calendar.busy[day]);
+            if (language != null && !language.isBlank()) {
+                BitSet speakers = calendar.speakers.get(TourAssignmentEngine.normalize(language));
+                if (speakers == null) {
+                    return List.of();
+                }
+                free.and(speakers);
+            }
+            List<Long> ids = new ArrayList<>(free.cardinality());
+            free.stream().forEach(slot -> ids.add(calendar.ids[slot]));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Days in [from, to] on which the person has no tour; empty for an unknown person
+    public List<LocalDate> freeDates(TourAssignmentEngine.Kind kind, long personId, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            Calendar calendar = calendar(kind);
+            int first = dayOrThrow(calendar, from);
+            int last = dayOrThrow(calendar, to);
+            Integer slot = calendar.slots.get(personId);
+            List<LocalDate> dates = new ArrayList<>();
+            if (slot == null) {
+                return dates;
+            }
+            for (int day = first; day <= last; day++) {
+                if (!calendar.busy[day].get(slot)) {
+                    dates.add(calendar.firstDay.plusDays(day));
+                }
+            }
+            return dates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Calendar calendar(TourAssignmentEngine.Kind kind) {
+        Calendar calendar = calendars.get(kind);
+        if (calendar == null) {
+            throw new RuntimeException("Availability index is not built yet");
+        }
+        return calendar;
+    }
+
+    private static int dayOrThrow(Calendar calendar, LocalDate date) {
+        int day = calendar.day(date);
+        if (day < 0) {
+            throw new RuntimeException("Date " + date + " is outside the indexed range " + calendar.firstDay
+                    + " to " + calendar.firstDay.plusDays(calendar.busy.length - 1));
+        }
+        return day;
+    }
+
+    private Calendar load(TourAssignmentEngine.Kind kind, LocalDate firstDay) {
+        List<Long> ids = new ArrayList<>();
+        Map<Long, Integer> slots = new HashMap<>();
+        BitSet available = new BitSet();
+        Map<String, BitSet> speakers = new HashMap<>();
+        jdbcTemplate.query("SELECT p.id, p.languages, p.is_available FROM " + kind.table + " p " +
+                "JOIN users u ON u.user_id = p.user_id WHERE u.deleted_at IS NULL", rs -> {
+            int slot = ids.size();
+            long id = rs.getLong("id");
+            ids.add(id);
+            slots.put(id, slot);
+            available.set(slot, rs.getBoolean("is_available"));
+            for (String language : TourAssignmentEngine.parseLanguages(rs.getString("languages"))) {
+                speakers.computeIfAbsent(language, l -> new BitSet()).set(slot);
+            }
+        });
+
+        Calendar calendar = new Calendar(firstDay, ids.stream().mapToLong(Long::longValue).toArray(),
+                slots, available, speakers, horizonDays);
+        LocalDate lastDay = firstDay.plusDays(horizonDays - 1);
+        jdbcTemplate.query(kind.busySql(), rs -> {
+            calendar.mark(rs.getLong(1), rs.getDate(2).toLocalDate(), true);
+        }, Date.valueOf(firstDay), Date.valueOf(lastDay), Date.valueOf(firstDay), Date.valueOf(lastDay));
+        return calendar;
+    }
+}
@@ -0,0 +1,226 @@
+package com.safari.safari_2.service;
+
+import com.safari.safari_2.util.BookingIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bookings are written once, as rows in the append-only booking_events log (CREATED, ASSIGNED, ACCEPTED,
+ * CANCELLED). tourist_bookings, guide_bookings and driver_bookings are projections of that log: each append
+ * updates them in the same transaction, and {@link #rebuildProjections()} can regenerate them from scratch.
+ *
+ * Only CREATED carries the tour details, and nothing copies them: a booking is that one insert plus a narrow
+ * projection row (booking, person, status). The tourist/guide/driver_booking_details views (V12) join the
+ * details back in. Later events are a type plus, where relevant, a role and person.
+ * Projection statuses: tourist PENDING -> CONFIRMED (first acceptance) -> CANCELLED,
+ * driver/guide ASSIGNED -> ACCEPTED -> CANCELLED. A slot can be reassigned only while it is ASSIGNED.
+ *
+ * Event ids are time-ordered per node only, so they do not order a booking's events across nodes. Each event
+ * takes the next seq of its booking (CREATED = 0) while holding that booking's events locked, and history and
+ * replay go booking by booking in seq order.
+ */
+@Service
+public class BookingEventLog {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingEventLog.class);
+
+    public enum EventType { CREATED, ASSIGNED, ACCEPTED, CANCELLED }
+
+    public record Event(long eventId, long bookingId, int seq, EventType type, String bookingRef,
+                        TourAssignmentEngine.Kind role, Long personId, Long touristId, String tourName,
+                        LocalDate tourDate, Integer numberOfPeople, String specialInstruction) {
+    }
+
+    private static final int REPLAY_PAGE_SIZE = 1000;
+
+    private static final String INSERT_EVENT = "INSERT INTO booking_events (event_id, booking_id, event_type, "
+            + "seq, booking_ref, role, person_id, tourist_id, tour_name, tour_date, number_of_people, special_instruction) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Locks the booking's events until commit, so appends to one booking queue up behind each other
+    private static final String LAST_SEQ = "SELECT MAX(seq) FROM booking_events WITH (UPDLOCK, HOLDLOCK) "
+            + "WHERE booking_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingIdGenerator bookingIdGenerator;
+
+    // Returns the customer-facing booking reference
+    @Transactional
+    public String create(Long touristId, String tourName, LocalDate tourDate, int numberOfPeople, String specialInstruction) {
+        if (touristId == null || tourName == null || tourName.isBlank() || tourDate == null || numberOfPeople < 1) {
+            throw new RuntimeException("touristId, tourName, tourDate and a positive numberOfPeople are required");
+        }
+        long bookingId = bookingIdGenerator.nextId();
+        String bookingRef = BookingIdGenerator.encode(bookingId);
+        append(new Event(bookingId, bookingId, 0, EventType.CREATED, bookingRef, null, null, touristId,
+                tourName.trim(), tourDate, numberOfPeople, specialInstruction));
+        return bookingRef;
+    }
+
+    @Transactional
+    public void assign(String bookingRef, TourAssignmentEngine.Kind role, Long personId) {
+        append(roleEvent(bookingRef, EventType.ASSIGNED, role, personId));
+    }
+
+    @Transactional
+    public void accept(String bookingRef, TourAssignmentEngine.Kind role, Long personId) {
+        append(roleEvent(bookingRef, EventType.ACCEPTED, role, personId));
+    }
+
+    @Transactional
+    public void cancel(String bookingRef) {
+        long bookingId = BookingIdGenerator.decode(bookingRef);
+        append(new Event(bookingIdGenerator.nextId(), bookingId, nextSeq(bookingId), EventType.CANCELLED, null,
+                null, null, null, null, null, null, null));
+    }
+
+    public List<Map<String, Object>> history(String bookingRef) {
+        return jdbcTemplate.queryForList("SELECT event_id, seq, event_type, role, person_id, occurred_at FROM booking_events "
+                + "WHERE booking_id = ? ORDER BY seq", BookingIdGenerator.decode(bookingRef));
+    }
+
+    // Tourist who created the booking, or null if there is no such booking
+    public Long touristId(String bookingRef) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT tourist_id FROM booking_events WHERE booking_id = ? "
+                + "AND event_type = 'CREATED'", Long.class, BookingIdGenerator.decode(bookingRef));
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    /**
+     * Deletes the projection rows of every booking in the log and replays the log booking by booking, each in seq
+     * order. Bookings project independently of each other, so the order across bookings does not matter.
+     * One transaction, so readers see either the old or the rebuilt views. Rows written before the log
+     * existed (booking ids not minted by BookingIdGenerator) are left alone.
+     */
+    @Transactional
+    public int rebuildProjections() {
+        for (String table : List.of("driver_bookings", "guide_bookings", "tourist_bookings")) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE booking_id IN "
+                    + "(SELECT booking_ref FROM booking_events WHERE event_type = 'CREATED')");
+        }
+        // Keyset pages, so no result set stays open on the connection while the projections are written
+        int replayed = 0;
+        long afterBooking = Long.MIN_VALUE;
+        int afterSeq = -1;
+        List<Event> page;
+        do {
+            page = jdbcTemplate.query("SELECT TOP (" + REPLAY_PAGE_SIZE + ") * FROM booking_events "
+                    + "WHERE booking_id > ? OR (booking_id = ? AND seq > ?) ORDER BY booking_id, seq",
+                    (rs, i) -> map(rs), afterBooking, afterBooking, afterSeq);
+            for (Event event : page) {
+                project(event);
+                afterBooking = event.bookingId();
+                afterSeq = event.seq();
+            }
+            replayed += page.size();
+        } while (page.size() == REPLAY_PAGE_SIZE);
+        log.info("Rebuilt booking projections from {} events", replayed);
+        return replayed;
+    }
+
+    private Event roleEvent(String bookingRef, EventType type, TourAssignmentEngine.Kind role, Long personId) {
+        if (role == null || personId == null) {
+            throw new RuntimeException("role and personId are required");
+        }
+        long bookingId = BookingIdGenerator.decode(bookingRef);
+        return new Event(bookingIdGenerator.nextId(), bookingId, nextSeq(bookingId), type, null,
+                role, personId, null, null, null, null, null);
+    }
+
+    private int nextSeq(long bookingId) {
+        Integer last = jdbcTemplate.queryForObject(LAST_SEQ, Integer.class, bookingId);
+        if (last == null) {
+            throw new RuntimeException("Booking " + BookingIdGenerator.encode(bookingId) + " not found");
+        }
+        return last + 1;
+    }
+
+    // Append and project in the caller's transaction; a projection that cannot apply rolls the event back
+    private void append(Event event) {
+        jdbcTemplate.update(INSERT_EVENT, event.eventId(), event.bookingId(), event.type().name(), event.seq(),
+                event.bookingRef(),
+                event.role() == null ? null : event.role().name(), event.personId(), event.touristId(),
+                event.tourName(), event.tourDate() == null ? null : Date.valueOf(event.tourDate()),
+                event.numberOfPeople(), event.specialInstruction());
+        project(event);
+    }
+
+    private void project(Event event) {
+        String ref = BookingIdGenerator.encode(event.bookingId());
+        switch (event.type()) {
+            case CREATED -> jdbcTemplate.update("INSERT INTO tourist_bookings (booking_id, tourist_id, status) "
+                    + "VALUES (?, ?, 'PENDING')", ref, event.touristId());
+            case ASSIGNED -> {
+                String table = bookingsTable(event.role());
+                String column = personColumn(event.role());
+                // Reassignment replaces the person while the slot still awaits acceptance; once accepted it is
+                // fixed (the tourist's booking is CONFIRMED on it). Otherwise add the row for a live booking.
+                int moved = jdbcTemplate.update("UPDATE " + table + " SET " + column + " = ? "
+                        + "WHERE booking_id = ? AND status = 'ASSIGNED'", event.personId(), ref);
+                if (moved == 0) {
+                    expectOne(jdbcTemplate.update("INSERT INTO " + table + " (booking_id, " + column + ", status) "
+                            + "SELECT t.booking_id, ?, 'ASSIGNED' FROM tourist_bookings t "
+                            + "WHERE t.booking_id = ? AND t.status <> 'CANCELLED' "
+                            + "AND NOT EXISTS (SELECT * FROM " + table + " r WHERE r.booking_id = t.booking_id)",
+                            event.personId(), ref),
+                            "Booking " + ref + " not found, cancelled or already accepted by its "
+                                    + event.role().name().toLowerCase(Locale.ROOT));
+                }
+            }
+            case ACCEPTED -> {
+                expectOne(jdbcTemplate.update("UPDATE " + bookingsTable(event.role()) + " SET status = 'ACCEPTED' "
+                        + "WHERE booking_id = ? AND " + personColumn(event.role()) + " = ? AND status = 'ASSIGNED'",
+                        ref, event.personId()), "Booking " + ref + " is not awaiting acceptance by this "
+                        + event.role().name().toLowerCase(Locale.ROOT));
+                jdbcTemplate.update("UPDATE tourist_bookings SET status = 'CONFIRMED' WHERE booking_id = ? "
+                        + "AND status = 'PENDING'", ref);
+            }
+            case CANCELLED -> {
+                expectOne(jdbcTemplate.update("UPDATE tourist_bookings SET status = 'CANCELLED' WHERE booking_id = ? "
+                        + "AND status <> 'CANCELLED'", ref), "Booking " + ref + " not found or already cancelled");
+                jdbcTemplate.update("UPDATE driver_bookings SET status = 'CANCELLED' WHERE booking_id = ?", ref);
+                jdbcTemplate.update("UPDATE guide_bookings SET status = 'CANCELLED' WHERE booking_id = ?", ref);
+            }
+        }
+    }
+
+    private static void expectOne(int updated, String message) {
+        if (updated != 1) {
+            throw new RuntimeException(message);
+        }
+    }
+
+    private static String bookingsTable(TourAssignmentEngine.Kind role) {
+        return role == TourAssignmentEngine.Kind.DRIVER ? "driver_bookings" : "guide_bookings";
+    }
+
+    private static String personColumn(TourAssignmentEngine.Kind role) {
+        return role == TourAssignmentEngine.Kind.DRIVER ? "driver_id" : "guide_id";
+    }
+
+    private static Event map(ResultSet rs) throws SQLException {
+        String role = rs.getString("role");
+        Date tourDate = rs.getDate("tour_date");
+        return new Event(rs.getLong("event_id"), rs.getLong("booking_id"), rs.getInt("seq"),
+                EventType.valueOf(rs.getString("event_type")),
+                rs.getString("booking_ref"), role == null ? null : TourAssignmentEngine.Kind.valueOf(role),
+                rs.getObject("person_id", Long.class), rs.getObject("tourist_id", Long.class), rs.getString("tour_name"),
+                tourDate == null ? null : tourDate.toLocalDate(), rs.getObject("number_of_people", Integer.class),
+                rs.getString("special_instruction"));
+    }
+}
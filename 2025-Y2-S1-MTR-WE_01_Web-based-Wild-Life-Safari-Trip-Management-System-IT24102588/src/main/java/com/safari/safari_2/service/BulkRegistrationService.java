@@ -0,0 +1,267 @@
+package com.safari.safari_2.service;
+
+import com.safari.safari_2.dto.BulkRegisterResult;
+import com.safari.safari_2.dto.RegisterDTO;
+import com.safari.safari_2.enums.Role;
+import com.safari.safari_2.repository.UserRepository;
+import com.safari.safari_2.security.HashingCapacityExceededException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports large rosters of users in JDBC batches.
+ * Rows are validated up front, uniqueness is probed once per chunk, and each chunk
+ * is written in its own transaction. If a chunk fails, its rows are retried one by one
+ * so a single bad row is reported without rolling back the rest of the import.
+ * If the password hashing pool is saturated the import stops at the current chunk and returns what it has,
+ * with {@link BulkRegisterResult#getResumeFromRow()} telling the client where to pick up.
+ */
+@Service
+public class BulkRegistrationService {
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, password, first_name, last_name, email, contact_number, nic, role, " +
+            "nationality, experience, languages, license_number, vehicle_type) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Profile rows resolve user_id by username so no generated keys need to come back from the batch.
+    // Tourists need none: their profile is a projection of the users row.
+    private static final String INSERT_DRIVER =
+            "INSERT INTO drivers (user_id, license_number, vehicle_type, experience_years, languages, description, " +
+            "is_available, rating, total_trips, created_date) " +
+            "SELECT user_id, license_number, vehicle_type, experience, languages, ?, 1, 0, 0, CURRENT_TIMESTAMP FROM users WHERE username = ?";
+
+    private static final String INSERT_GUIDE =
+            "INSERT INTO guides (user_id, experience_years, languages, specializations, description, " +
+            "is_available, rating, total_tours, created_date) " +
+            "SELECT user_id, experience, languages, ?, ?, 1, 0, 0, CURRENT_TIMESTAMP FROM users WHERE username = ?";
+
+    // SQL Server accepts at most 2100 parameters per statement, whatever batch-size is set to
+    private static final int PROBE_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${safari.bulk-register.batch-size:500}")
+    private int batchSize;
+
+    public BulkRegisterResult importUsers(Iterator<RegisterDTO> rows) {
+        BulkRegisterResult result = new BulkRegisterResult();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Keys already claimed earlier in this import (the database probe cannot see unflushed rows)
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenNics = new HashSet<>();
+
+        List<PendingRow> chunk = new ArrayList<>(batchSize);
+        int index = 0;
+        while (rows.hasNext()) {
+            int row = index++;
+            RegisterDTO dto;
+            try {
+                dto = rows.next();
+            } catch (RuntimeException e) {
+                result.addError(row, null, "Malformed row: " + e.getMessage());
+                continue;
+            }
+
+            try {
+                validate(dto);
+            } catch (RuntimeException e) {
+                result.addError(row, dto.getUsername(), e.getMessage());
+                continue;
+            }
+
+            if (!seenUsernames.add(key(dto.getUsername()))) {
+                result.addError(row, dto.getUsername(), "Username already exists");
+                continue;
+            }
+            if (!seenEmails.add(key(dto.getEmail()))) {
+                result.addError(row, dto.getUsername(), "Email already exists");
+                continue;
+            }
+            if (!seenNics.add(key(dto.getNic()))) {
+                result.addError(row, dto.getUsername(), "NIC already exists");
+                continue;
+            }
+
+            chunk.add(new PendingRow(row, dto));
+            if (chunk.size() >= batchSize && !flush(chunk, result, transactionTemplate)) {
+                return result;
+            }
+        }
+        flush(chunk, result, transactionTemplate);
+        return result;
+    }
+
+    private void validate(RegisterDTO dto) {
+        if (dto == null) {
+            throw new RuntimeException("Empty row");
+        }
+        if (isBlank(dto.getUsername()) || isBlank(dto.getEmail()) || isBlank(dto.getNic())) {
+            throw new RuntimeException("Username, email and NIC are required");
+        }
+        userService.validateRegistration(dto);
+    }
+
+    // Returns false when hashing capacity ran out: nothing from this chunk was written or reported
+    private boolean flush(List<PendingRow> chunk, BulkRegisterResult result, TransactionTemplate transactionTemplate) {
+        if (chunk.isEmpty()) {
+            return true;
+        }
+
+        Set<String> existingUsernames = existing(chunk, RegisterDTO::getUsername, userRepository::findExistingUsernames);
+        Set<String> existingEmails = existing(chunk, RegisterDTO::getEmail, userRepository::findExistingEmails);
+        Set<String> existingNics = existing(chunk, RegisterDTO::getNic, userRepository::findExistingNics);
+
+        List<PendingRow> accepted = new ArrayList<>(chunk.size());
+        List<BulkRegisterResult.RowError> rejected = new ArrayList<>();
+        for (PendingRow pending : chunk) {
+            RegisterDTO dto = pending.dto;
+            if (existingUsernames.contains(key(dto.getUsername()))) {
+                rejected.add(new BulkRegisterResult.RowError(pending.row, dto.getUsername(), "Username already exists"));
+            } else if (existingEmails.contains(key(dto.getEmail()))) {
+                rejected.add(new BulkRegisterResult.RowError(pending.row, dto.getUsername(), "Email already exists"));
+            } else if (existingNics.contains(key(dto.getNic()))) {
+                rejected.add(new BulkRegisterResult.RowError(pending.row, dto.getUsername(), "NIC already exists"));
+            } else {
+                accepted.add(pending);
+            }
+        }
+        try {
+            for (PendingRow pending : accepted) {
+                pending.encodedPassword = passwordEncoder.encode(pending.dto.getPassword());
+            }
+        } catch (HashingCapacityExceededException e) {
+            result.stop(chunk.get(0).row, e.getMessage());
+            chunk.clear();
+            return false;
+        }
+        rejected.forEach(error -> result.addError(error.getRow(), error.getUsername(), error.getMessage()));
+        chunk.clear();
+
+        if (accepted.isEmpty()) {
+            return true;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(accepted));
+            result.addImported(accepted.size());
+        } catch (DataAccessException e) {
+            // Something in the batch was rejected by the database; isolate it row by row
+            for (PendingRow pending : accepted) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertBatch(List.of(pending)));
+                    result.addImported(1);
+                } catch (DataAccessException rowError) {
+                    result.addError(pending.row, pending.dto.getUsername(),
+                            NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    // Uniqueness probe for one column, in IN lists small enough for the driver's parameter limit
+    private static Set<String> existing(List<PendingRow> chunk, Function<RegisterDTO, String> field,
+                                        Function<List<String>, List<String>> probe) {
+        List<String> values = chunk.stream().map(r -> field.apply(r.dto)).collect(Collectors.toList());
+        Set<String> found = new HashSet<>();
+        for (int from = 0; from < values.size(); from += PROBE_CHUNK_SIZE) {
+            found.addAll(keys(probe.apply(values.subList(from, Math.min(values.size(), from + PROBE_CHUNK_SIZE)))));
+        }
+        return found;
+    }
+
+    private void insertBatch(List<PendingRow> rows) {
+        batch(INSERT_USER, rows, (ps, pending) -> {
+            RegisterDTO dto = pending.dto;
+            ps.setString(1, dto.getUsername());
+            ps.setString(2, pending.encodedPassword);
+            ps.setString(3, dto.getFirstName());
+            ps.setString(4, dto.getLastName());
+            ps.setString(5, dto.getEmail());
+            ps.setString(6, dto.getContactNumber());
+            ps.setString(7, dto.getNic());
+            ps.setString(8, dto.getRole().name());
+            ps.setString(9, dto.getRole() == Role.TOURIST ? dto.getNationality() : null);
+            ps.setObject(10, dto.getRole() == Role.TOURIST ? null : dto.getExperience(), Types.INTEGER);
+            ps.setString(11, dto.getRole() == Role.TOURIST ? null : dto.getLanguage());
+            ps.setString(12, dto.getRole() == Role.DRIVER ? dto.getLicenseNumber() : null);
+            ps.setString(13, dto.getRole() == Role.DRIVER ? dto.getVehicleType().name() : null);
+        });
+
+        batch(INSERT_DRIVER, byRole(rows, Role.DRIVER), (ps, pending) -> {
+            ps.setString(1, "Experienced safari driver with " + pending.dto.getExperience() + " years of expertise.");
+            ps.setString(2, pending.dto.getUsername());
+        });
+        batch(INSERT_GUIDE, byRole(rows, Role.GUIDE), (ps, pending) -> {
+            ps.setString(1, "Wildlife tours, Cultural experiences");
+            ps.setString(2, "Professional wildlife guide with " + pending.dto.getExperience() + " years of experience.");
+            ps.setString(3, pending.dto.getUsername());
+        });
+    }
+
+    private void batch(String sql, List<PendingRow> rows, ParameterizedPreparedStatementSetter<PendingRow> setter) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows, batchSize, setter);
+        }
+    }
+
+    private static List<PendingRow> byRole(List<PendingRow> rows, Role role) {
+        return rows.stream().filter(r -> r.dto.getRole() == role).collect(Collectors.toList());
+    }
+
+    // SQL Server's default collation compares these columns case-insensitively
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> keys(List<String> values) {
+        return values.stream().map(BulkRegistrationService::key).collect(Collectors.toSet());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static class PendingRow {
+        private final int row;
+        private final RegisterDTO dto;
+        private String encodedPassword;
+
+        private PendingRow(int row, RegisterDTO dto) {
+            this.row = row;
+            this.dto = dto;
+        }
+    }
+}
@@ -2,27 +2,52 @@ package com.safari.safari_2.service;
 
 import com.safari.safari_2.model.User;
 import com.safari.safari_2.repository.UserRepository;
+import com.safari.safari_2.security.SafariUserDetails;
+import com.safari.safari_2.security.UserDetailsCache;
+import com.safari.safari_2.security.UserDetailsCache.CachedUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        CachedUser user = userDetailsCache.get(username);
+        if (user == null) {
+            long stamp = userDetailsCache.stamp();
+            User entity = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+            user = CachedUser.of(entity);
+            userDetailsCache.put(username, user, stamp);
+        }
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .roles(user.getRole().name())
+        // Built fresh each time: Spring Security erases credentials on the instance it returns
+        return new SafariUserDetails(user.id(), user.username(), user.password(), user.role());
+    }
+
+    // Called by Spring Security after a successful login when the stored hash uses an outdated cost
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        userDetailsCache.evictOnCommit(user.getUsername());
+        if (user instanceof SafariUserDetails principal) {
+            return principal.withPassword(newPassword);
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
                 .build();
     }
 }
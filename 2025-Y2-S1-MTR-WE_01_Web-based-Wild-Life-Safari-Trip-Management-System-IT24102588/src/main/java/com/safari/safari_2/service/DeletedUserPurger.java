@@ -0,0 +1,21 @@
+package com.safari.safari_2.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Background removal of soft-deleted users and their tours, bookings and assignments
+@Component
+@ConditionalOnProperty(name = "safari.users.delete-mode", havingValue = "soft")
+public class DeletedUserPurger {
+
+    @Autowired
+    private UserDeletionService userDeletionService;
+
+    @Scheduled(initialDelayString = "${safari.users.purge.interval-millis:60000}",
+            fixedDelayString = "${safari.users.purge.interval-millis:60000}")
+    public void purge() {
+        userDeletionService.purgeDeleted();
+    }
+}
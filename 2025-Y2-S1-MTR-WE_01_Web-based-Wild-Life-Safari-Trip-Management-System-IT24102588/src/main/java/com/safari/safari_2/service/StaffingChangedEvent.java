@@ -0,0 +1,18 @@
+package com.safari.safari_2.service;
+
+import java.time.LocalDate;
+
+/**
+ * A driver or guide was booked onto, or released from, a tour on a date.
+ * Published after the change has committed; {@link AvailabilityIndex} applies it incrementally.
+ */
+public record StaffingChangedEvent(TourAssignmentEngine.Kind kind, long personId, LocalDate date, boolean busy) {
+
+    public static StaffingChangedEvent booked(TourAssignmentEngine.Kind kind, long personId, LocalDate date) {
+        return new StaffingChangedEvent(kind, personId, date, true);
+    }
+
+    public static StaffingChangedEvent released(TourAssignmentEngine.Kind kind, long personId, LocalDate date) {
+        return new StaffingChangedEvent(kind, personId, date, false);
+    }
+}
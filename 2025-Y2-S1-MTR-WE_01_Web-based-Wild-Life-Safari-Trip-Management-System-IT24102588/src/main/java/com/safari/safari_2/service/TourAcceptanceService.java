@@ -0,0 +1,66 @@
+package com.safari.safari_2.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A driver or guide claiming an offered tour. The claim is one conditional UPDATE (the assignment engine's
+ * {@link TourAssignmentEngine.Kind#assignSql()}) that only succeeds while the tour is PENDING, the slot is
+ * empty and the person has no other tour that day, so the database picks exactly one winner however many
+ * accept at once; there is no read-then-write window and no lock held in the application. Losers learn it
+ * from the update count.
+ */
+@Service
+public class TourAcceptanceService {
+
+    public enum Result { ACCEPTED, ALREADY_YOURS, TAKEN, NOT_OFFERED, BUSY, NOT_FOUND }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public Result accept(TourAssignmentEngine.Kind kind, Long tourId, Long personId) {
+        int claimed = jdbcTemplate.update(kind.assignSql(), personId, tourId, personId, personId);
+        if (claimed == 0) {
+            return lost(kind, tourId, personId);
+        }
+
+        jdbcTemplate.update("INSERT INTO " + kind.linkTable + " (" + kind.linkColumn + ", tour_id, status) "
+                + "VALUES (?, ?, 'ACCEPTED')", personId, tourId);
+        Date tourDate = jdbcTemplate.queryForObject("SELECT tour_date FROM tours WHERE id = ?", Date.class, tourId);
+        // Delivered after commit (AvailabilityIndex listens transactionally)
+        eventPublisher.publishEvent(StaffingChangedEvent.booked(kind, personId, tourDate.toLocalDate()));
+        return Result.ACCEPTED;
+    }
+
+    // Only reached by the losing side, so the extra read is off the winner's path
+    private Result lost(TourAssignmentEngine.Kind kind, Long tourId, Long personId) {
+        List<Object[]> tour = jdbcTemplate.query("SELECT " + kind.tourColumn + ", status FROM tours WHERE id = ?",
+                (rs, i) -> new Object[] {rs.getObject(1, Long.class), rs.getString(2)}, tourId);
+        if (tour.isEmpty()) {
+            return Result.NOT_FOUND;
+        }
+        Long holder = (Long) tour.get(0)[0];
+        // A repeated click by the winner is not a conflict
+        if (holder != null) {
+            return Objects.equals(holder, personId) ? Result.ALREADY_YOURS : Result.TAKEN;
+        }
+        return "PENDING".equals(tour.get(0)[1]) ? Result.BUSY : Result.NOT_OFFERED;
+    }
+
+    // drivers.id / guides.id of a logged-in user, or null if the user is not one
+    public Long personIdForUser(TourAssignmentEngine.Kind kind, Long userId) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM " + kind.table + " WHERE user_id = ?", Long.class, userId);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+}
@@ -0,0 +1,330 @@
+package com.safari.safari_2.service;
+
+import com.safari.safari_2.dto.AssignmentRunResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns drivers and guides to all pending tours in a date window in one pass, replacing one-by-one accepts.
+ *
+ * Everything needed is read up front (pending tours, available people, who is already busy on which date),
+ * then each tour date is matched and committed independently on a small pool: a person can only work one tour
+ * per day, so dates never compete for the same slot while parks on the same date share one pool of people.
+ * Each date commits in one transaction with conditional UPDATEs, so a tour accepted manually in the meantime
+ * (or a person booked elsewhere that day) is skipped and counted as a conflict rather than overwritten.
+ *
+ * Candidates are scored by language match (languages named in the tour's special instructions, otherwise
+ * safari.assignment.default-language), rating, experience and the number of tours they already have in the window.
+ */
+@Service
+public class TourAssignmentEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(TourAssignmentEngine.class);
+
+    private static final String PENDING_TOURS =
+            "SELECT id, tour_date, number_of_people, special_instructions, assigned_driver_id, assigned_guide_id " +
+            "FROM tours WHERE status = 'PENDING' AND tour_date BETWEEN ? AND ? " +
+            "AND (assigned_driver_id IS NULL OR assigned_guide_id IS NULL)";
+
+    // Drivers and guides share the same shape; only table and column names differ
+    public enum Kind {
+        DRIVER("drivers", "assigned_driver_id", "driver_tours", "driver_id"),
+        GUIDE("guides", "assigned_guide_id", "guide_tours", "guide_id");
+
+        final String table;
+        final String tourColumn;
+        final String linkTable;
+        final String linkColumn;
+
+        Kind(String table, String tourColumn, String linkTable, String linkColumn) {
+            this.table = table;
+            this.tourColumn = tourColumn;
+            this.linkTable = linkTable;
+            this.linkColumn = linkColumn;
+        }
+
+        String candidatesSql() {
+            return "SELECT p.id, p.languages, p.rating, p.experience_years FROM " + table + " p " +
+                    "JOIN users u ON u.user_id = p.user_id WHERE p.is_available = 1 AND u.deleted_at IS NULL";
+        }
+
+        String busySql() {
+            return "SELECT t." + tourColumn + ", t.tour_date FROM tours t WHERE t." + tourColumn + " IS NOT NULL " +
+                    "AND t.status <> 'CANCELLED' AND t.tour_date BETWEEN ? AND ? " +
+                    "UNION SELECT l." + linkColumn + ", t.tour_date FROM " + linkTable + " l JOIN tours t ON t.id = l.tour_id " +
+                    "WHERE l.status IN ('ACCEPTED', 'ASSIGNED') AND t.tour_date BETWEEN ? AND ?";
+        }
+
+        // Only fills an empty slot, and only if the person has no other tour that day (same sources as busySql).
+        // UPDLOCK, HOLDLOCK keep the probed person/date ranges locked until commit, so two concurrent runs
+        // cannot both see the person free and book them twice.
+        String assignSql() {
+            return "UPDATE tours SET " + tourColumn + " = ? WHERE id = ? AND " + tourColumn + " IS NULL " +
+                    "AND status = 'PENDING' " +
+                    "AND NOT EXISTS (SELECT 1 FROM tours o WITH (UPDLOCK, HOLDLOCK) WHERE o." + tourColumn + " = ? " +
+                    "AND o.tour_date = tours.tour_date AND o.status <> 'CANCELLED') " +
+                    "AND NOT EXISTS (SELECT 1 FROM " + linkTable + " l WITH (UPDLOCK, HOLDLOCK) " +
+                    "JOIN tours lt ON lt.id = l.tour_id WHERE l." + linkColumn + " = ? " +
+                    "AND l.status IN ('ACCEPTED', 'ASSIGNED') AND lt.tour_date = tours.tour_date)";
+        }
+
+        String linkSql() {
+            return "INSERT INTO " + linkTable + " (" + linkColumn + ", tour_id, status) VALUES (?, ?, 'ASSIGNED')";
+        }
+    }
+
+    public record Candidate(long id, Set<String> languages, double rating, int experienceYears) {
+    }
+
+    private record PendingTour(long id, LocalDate date, int people, Set<String> languages,
+                               boolean needsDriver, boolean needsGuide) {
+    }
+
+    // One run's view of a kind: who can work, who is busy on which date, how many tours each already has
+    private record Pool(Kind kind, List<Candidate> candidates, Map<LocalDate, Set<Long>> busy,
+                        Map<Long, AtomicInteger> load) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${safari.assignment.default-language:English}")
+    private String defaultLanguage;
+
+    private final ExecutorService executor;
+
+    public TourAssignmentEngine(@Value("${safari.assignment.parallelism:4}") int parallelism) {
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "tour-assignment-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public AssignmentRunResult assignPending(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new RuntimeException("A date window with from <= to is required");
+        }
+        long started = System.currentTimeMillis();
+        AssignmentRunResult result = new AssignmentRunResult();
+        result.setFrom(from);
+        result.setTo(to);
+
+        Pool drivers = loadPool(Kind.DRIVER, from, to);
+        Pool guides = loadPool(Kind.GUIDE, from, to);
+        Set<String> vocabulary = new HashSet<>();
+        drivers.candidates().forEach(c -> vocabulary.addAll(c.languages()));
+        guides.candidates().forEach(c -> vocabulary.addAll(c.languages()));
+
+        Map<LocalDate, List<PendingTour>> byDate = jdbcTemplate.query(PENDING_TOURS, (rs, i) -> new PendingTour(
+                        rs.getLong("id"),
+                        rs.getDate("tour_date").toLocalDate(),
+                        rs.getInt("number_of_people"),
+                        requestedLanguages(rs.getString("special_instructions"), vocabulary),
+                        rs.getObject("assigned_driver_id") == null,
+                        rs.getObject("assigned_guide_id") == null),
+                Date.valueOf(from), Date.valueOf(to))
+                .stream().collect(Collectors.groupingBy(PendingTour::date));
+
+        // Busy sets are per date, so each date's thread only ever touches its own sets
+        byDate.keySet().forEach(date -> {
+            drivers.busy().computeIfAbsent(date, d -> new HashSet<>());
+            guides.busy().computeIfAbsent(date, d -> new HashSet<>());
+        });
+
+        CompletableFuture<?>[] runs = byDate.entrySet().stream()
+                .map(entry -> CompletableFuture.runAsync(
+                        () -> assignDate(entry.getKey(), entry.getValue(), drivers, guides, result), executor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(runs).exceptionally(e -> null).join();
+
+        result.setElapsedMillis(System.currentTimeMillis() - started);
+        log.info("Assignment run {}..{}: {} tours, {} drivers and {} guides assigned, {} conflicts, {} ms",
+                from, to, result.getToursConsidered(), result.getDriversAssigned(), result.getGuidesAssigned(),
+                result.getConflicts(), result.getElapsedMillis());
+        return result;
+    }
+
+    private void assignDate(LocalDate date, List<PendingTour> tours, Pool drivers, Pool guides, AssignmentRunResult result) {
+        // Tours asking for a specific language pick first, then bigger groups
+        List<PendingTour> ordered = new ArrayList<>(tours);
+        ordered.sort(Comparator.comparing((PendingTour t) -> t.languages().contains(normalize(defaultLanguage)))
+                .thenComparing(PendingTour::people, Comparator.reverseOrder()));
+
+        List<long[]> driverPicks = new ArrayList<>();
+        List<long[]> guidePicks = new ArrayList<>();
+        List<AssignmentRunResult.Unassigned> unassigned = new ArrayList<>();
+        for (PendingTour tour : ordered) {
+            if (tour.needsDriver()) {
+                pick(tour, drivers, driverPicks, unassigned);
+            }
+            if (tour.needsGuide()) {
+                pick(tour, guides, guidePicks, unassigned);
+            }
+        }
+
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            List<List<long[]>> applied = transactionTemplate.execute(status -> List.of(
+                    apply(Kind.DRIVER, driverPicks, date, unassigned),
+                    apply(Kind.GUIDE, guidePicks, date, unassigned)));
+            // Published after commit, so listeners never see an assignment that was rolled back
+            applied.get(0).forEach(p -> eventPublisher.publishEvent(StaffingChangedEvent.booked(Kind.DRIVER, p[1], date)));
+            applied.get(1).forEach(p -> eventPublisher.publishEvent(StaffingChangedEvent.booked(Kind.GUIDE, p[1], date)));
+            int driversAssigned = applied.get(0).size();
+            int guidesAssigned = applied.get(1).size();
+            int conflicts = driverPicks.size() + guidePicks.size() - driversAssigned - guidesAssigned;
+            result.add(tours.size(), driversAssigned, guidesAssigned, conflicts, unassigned);
+        } catch (RuntimeException e) {
+            log.warn("Assignment for {} rolled back: {}", date, e.getMessage());
+            List<AssignmentRunResult.Unassigned> failed = tours.stream()
+                    .map(t -> new AssignmentRunResult.Unassigned(t.id(), date, "Batch failed: " + e.getMessage()))
+                    .toList();
+            result.add(tours.size(), 0, 0, 0, failed);
+        }
+    }
+
+    private void pick(PendingTour tour, Pool pool, List<long[]> picks, List<AssignmentRunResult.Unassigned> unassigned) {
+        Set<Long> busy = pool.busy().get(tour.date());
+        Candidate best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (Candidate candidate : pool.candidates()) {
+            if (busy.contains(candidate.id())) {
+                continue;
+            }
+            double score = score(candidate, tour.languages(), load(pool, candidate.id()).get());
+            if (score > bestScore) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        if (best == null) {
+            unassigned.add(new AssignmentRunResult.Unassigned(tour.id(), tour.date(),
+                    "No available " + pool.kind().name().toLowerCase(Locale.ROOT)));
+            return;
+        }
+        busy.add(best.id());
+        load(pool, best.id()).incrementAndGet();
+        picks.add(new long[] {tour.id(), best.id()});
+    }
+
+    // Language dominates; rating, experience and current load break ties among speakers
+    static double score(Candidate candidate, Set<String> wanted, int load) {
+        boolean speaks = wanted.stream().anyMatch(candidate.languages()::contains);
+        double rating = Math.max(0, Math.min(5, candidate.rating())) / 5;
+        double experience = Math.min(candidate.experienceYears(), 20) / 20.0;
+        double loadPenalty = load / (load + 1.0);
+        return (speaks ? 0.5 : 0) + 0.25 * rating + 0.1 * experience - 0.15 * loadPenalty;
+    }
+
+    // Rows a concurrent writer got to first update nothing and get no link row
+    private List<long[]> apply(Kind kind, List<long[]> picks, LocalDate date, List<AssignmentRunResult.Unassigned> unassigned) {
+        if (picks.isEmpty()) {
+            return List.of();
+        }
+        List<Object[]> args = picks.stream().map(p -> new Object[] {p[1], p[0], p[1], p[1]}).toList();
+        int[] counts = jdbcTemplate.batchUpdate(kind.assignSql(), args);
+        List<long[]> applied = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                applied.add(picks.get(i));
+            } else {
+                unassigned.add(new AssignmentRunResult.Unassigned(picks.get(i)[0], date,
+                        kind.name().toLowerCase(Locale.ROOT) + " slot changed during the run"));
+            }
+        }
+        if (!applied.isEmpty()) {
+            jdbcTemplate.batchUpdate(kind.linkSql(), applied.stream().map(p -> new Object[] {p[1], p[0]}).toList());
+        }
+        return applied;
+    }
+
+    private Pool loadPool(Kind kind, LocalDate from, LocalDate to) {
+        List<Candidate> candidates = jdbcTemplate.query(kind.candidatesSql(), (rs, i) -> new Candidate(
+                rs.getLong("id"),
+                parseLanguages(rs.getString("languages")),
+                rs.getDouble("rating"),
+                rs.getInt("experience_years")));
+
+        Map<LocalDate, Set<Long>> busy = new ConcurrentHashMap<>();
+        Map<Long, AtomicInteger> load = new ConcurrentHashMap<>();
+        jdbcTemplate.query(kind.busySql(), rs -> {
+            long person = rs.getLong(1);
+            busy.computeIfAbsent(rs.getDate(2).toLocalDate(), d -> new HashSet<>()).add(person);
+            load.computeIfAbsent(person, p -> new AtomicInteger()).incrementAndGet();
+        }, Date.valueOf(from), Date.valueOf(to), Date.valueOf(from), Date.valueOf(to));
+        return new Pool(kind, candidates, busy, load);
+    }
+
+    private static AtomicInteger load(Pool pool, long person) {
+        return pool.load().computeIfAbsent(person, p -> new AtomicInteger());
+    }
+
+    // drivers/guides.languages is a comma-separated list, e.g. "English, German"
+    public static Set<String> parseLanguages(String languages) {
+        if (languages == null || languages.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(languages.split(","))
+                .map(TourAssignmentEngine::normalize)
+                .filter(l -> !l.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private Set<String> requestedLanguages(String instructions, Set<String> vocabulary) {
+        Set<String> wanted = new HashSet<>();
+        if (instructions != null) {
+            for (String word : instructions.toLowerCase(Locale.ROOT).split("[^\\p{L}]+")) {
+                if (vocabulary.contains(word)) {
+                    wanted.add(word);
+                }
+            }
+        }
+        if (wanted.isEmpty()) {
+            wanted.add(normalize(defaultLanguage));
+        }
+        return wanted;
+    }
+
+    static String normalize(String language) {
+        return language.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,12 +1,16 @@
-ackage com.safari.safari_2.service;
+package com.safari.safari_2.service;
 
 import com.safari.safari_2.model.Tourist;
 import com.safari.safari_2.repository.TouristRepository;
+import com.safari.safari_2.util.EntityStreamer;
+import com.safari.safari_2.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class TouristService {
@@ -14,16 +18,35 @@ public class TouristService {
     @Autowired
     private TouristRepository touristRepository;
     
+    @Autowired
+    private EntityStreamer entityStreamer;
+    
+    @Autowired
+    private Pagination pagination;
+    
+    // Tourist profiles are projected from the users row, so there is nothing to insert;
+    // kept for callers that expect the profile back after registration
     public Tourist createTourist(Long userId, String email, String nationality, String firstName, 
                                 String lastName, String contactNumber, String nic, String username) {
-        Tourist tourist = new Tourist(userId, email, nationality, firstName, lastName, contactNumber, nic, username);
-        return touristRepository.save(tourist);
+        return touristRepository.findByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("Tourist user not found: " + userId));
     }
     
     public List<Tourist> getAllTourists() {
         return touristRepository.findAll();
     }
     
+    // Keyset pagination on id: pass the last id of the previous page (or null for the first page)
+    public List<Tourist> getTouristsPage(Long afterId, Integer size) {
+        return touristRepository.findByIdGreaterThanOrderByIdAsc(afterId == null ? 0L : afterId,
+                Limit.of(pagination.pageSize(size)));
+    }
+    
+    // Streams every tourist through a JDBC cursor; memory use does not grow with the table
+    public void streamAllTourists(Consumer<Tourist> consumer) {
+        entityStreamer.streamAll(Tourist.class, consumer);
+    }
+    
     public Optional<Tourist> getTouristByUserId(Long userId) {
         return touristRepository.findByUserId(userId);
     }
@@ -32,10 +55,7 @@ public class TouristService {
         return touristRepository.findByNationality(nationality);
     }
     
+    // No-op: the profile disappears together with its users row
     public void deleteTouristByUserId(Long userId) {
-        Optional<Tourist> touristOptional = touristRepository.findByUserId(userId);
-        if (touristOptional.isPresent()) {
-            touristRepository.delete(touristOptional.get());
-        }
     }
 }
@@ -2,11 +2,15 @@ package com.safari.safari_2.service;
 
 import com.safari.safari_2.model.TouristUser;
 import com.safari.safari_2.repository.TouristUserRepository;
+import com.safari.safari_2.util.EntityStreamer;
+import com.safari.safari_2.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class TouristUserService {
@@ -14,19 +18,59 @@ public class TouristUserService {
     @Autowired
     private TouristUserRepository touristUserRepository;
     
+    @Autowired
+    private EntityStreamer entityStreamer;
+    
+    @Autowired
+    private Pagination pagination;
+    
+    // Tourist users are projected from the users row, so there is nothing to insert;
+    // kept for callers that expect the record back after registration
     public TouristUser createTouristUser(Long userId, String email, String nationality, String nic, String username) {
-        TouristUser touristUser = new TouristUser(userId, email, nationality, nic, username);
-        return touristUserRepository.save(touristUser);
+        return touristUserRepository.findByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("Tourist user not found: " + userId));
     }
     
     public List<TouristUser> getAllTouristUsers() {
         return touristUserRepository.findAll();
     }
     
+    // Keyset pagination on id: pass the last id of the previous page (or null for the first page)
+    public List<TouristUser> getTouristUsersPage(Long afterId, Integer size) {
+        return touristUserRepository.findByIdGreaterThanOrderByIdAsc(afterId == null ? 0L : afterId, Limit.of(pageSize(size)));
+    }
+    
+    // Requested size clamped to safari.pagination.*; a shorter page is the last one
+    public int pageSize(Integer size) {
+        return pagination.pageSize(size);
+    }
+    
+    // Streams every tourist user through a JDBC cursor; memory use does not grow with the table
+    public void streamAllTouristUsers(Consumer<TouristUser> consumer) {
+        entityStreamer.streamAll(TouristUser.class, consumer);
+    }
+    
     public Optional<TouristUser> getTouristUserByUserId(Long userId) {
         return touristUserRepository.findByUserId(userId);
     }
     
+    // Current id and version only (no entity hydration), for conditional GETs
+    public Optional<TouristUserRepository.VersionStamp> getTouristUserVersionByUserId(Long userId) {
+        return touristUserRepository.findVersionByUserId(userId);
+    }
+    
+    public Optional<TouristUserRepository.VersionStamp> getTouristUserVersionByUsername(String username) {
+        return touristUserRepository.findVersionByUsername(username);
+    }
+    
+    public Optional<TouristUserRepository.VersionStamp> getTouristUserVersionByEmail(String email) {
+        return touristUserRepository.findVersionByEmail(email);
+    }
+    
+    public Optional<TouristUserRepository.VersionStamp> getTouristUserVersionByNic(String nic) {
+        return touristUserRepository.findVersionByNic(nic);
+    }
+    
     public List<TouristUser> getTouristUsersByNationality(String nationality) {
         return touristUserRepository.findByNationality(nationality);
     }
@@ -43,10 +87,7 @@ public class TouristUserService {
         return touristUserRepository.findByNic(nic);
     }
     
+    // No-op: the record disappears together with its users row
     public void deleteTouristUserByUserId(Long userId) {
-        Optional<TouristUser> touristUserOptional = touristUserRepository.findByUserId(userId);
-        if (touristUserOptional.isPresent()) {
-            touristUserRepository.delete(touristUserOptional.get());
-        }
     }
 }
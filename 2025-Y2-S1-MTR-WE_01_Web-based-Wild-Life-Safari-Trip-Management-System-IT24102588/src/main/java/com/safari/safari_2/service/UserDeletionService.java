@@ -0,0 +1,159 @@
+package com.safari.safari_2.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Removes a user and everything that hangs off it with one set-based statement per dependent table,
+ * instead of loading and deleting entities one by one.
+ *
+ * safari.users.delete-mode:
+ * - hard (default): all statements run for that user in the caller's transaction
+ * - soft: the users row is only stamped with deleted_at, which hides it at once (@SQLRestriction on User);
+ *   {@link #purgeDeleted()} later removes the users tombstoned when it starts, and their data, in bounded batches.
+ *   A tombstoned username/email/nic stays reserved until the purge has run.
+ * Drivers and guides booked on the removed tours are released ({@link StaffingChangedEvent}) once the tours are gone.
+ */
+@Service
+public class UserDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserDeletionService.class);
+
+    // Dependents first, the users row last. {top} is the batch limit (empty for a single user),
+    // {users} the user ids being removed (a subquery or a list of ? placeholders).
+    private static final List<String> CASCADE = List.of(
+            "DELETE {top} FROM driver_tours WHERE driver_id IN (SELECT d.id FROM drivers d WHERE d.user_id IN ({users})) " +
+                    "OR tour_id IN (SELECT t.id FROM tours t WHERE t.user_id IN ({users}))",
+            "DELETE {top} FROM guide_tours WHERE guide_id IN (SELECT g.id FROM guides g WHERE g.user_id IN ({users})) " +
+                    "OR tour_id IN (SELECT t.id FROM tours t WHERE t.user_id IN ({users}))",
+            // Booking events too, or rebuilding the booking projections would bring the rows below back.
+            // The CREATED event identifies the user's bookings, so it goes last: deleted in the same batch,
+            // it would orphan the booking's later events and break the next rebuild.
+            "DELETE {top} FROM booking_events WHERE event_type <> 'CREATED' AND booking_id IN " +
+                    "(SELECT e.booking_id FROM booking_events e WHERE e.event_type = 'CREATED' AND e.tourist_id IN ({users}))",
+            "DELETE {top} FROM booking_events WHERE event_type = 'CREATED' AND tourist_id IN ({users})",
+            "DELETE {top} FROM booking_events WHERE (role = 'DRIVER' AND person_id IN " +
+                    "(SELECT d.id FROM drivers d WHERE d.user_id IN ({users}))) OR (role = 'GUIDE' AND person_id IN " +
+                    "(SELECT g.id FROM guides g WHERE g.user_id IN ({users})))",
+            "DELETE {top} FROM driver_bookings WHERE driver_id IN (SELECT d.id FROM drivers d WHERE d.user_id IN ({users}))",
+            "DELETE {top} FROM guide_bookings WHERE guide_id IN (SELECT g.id FROM guides g WHERE g.user_id IN ({users}))",
+            "DELETE {top} FROM tourist_bookings WHERE tourist_id IN ({users})",
+            "UPDATE {top} tours SET assigned_driver_id = NULL " +
+                    "WHERE assigned_driver_id IN (SELECT d.id FROM drivers d WHERE d.user_id IN ({users}))",
+            "UPDATE {top} tours SET assigned_guide_id = NULL " +
+                    "WHERE assigned_guide_id IN (SELECT g.id FROM guides g WHERE g.user_id IN ({users}))",
+            "DELETE {top} FROM tours WHERE user_id IN ({users})",
+            "DELETE {top} FROM drivers WHERE user_id IN ({users})",
+            "DELETE {top} FROM guides WHERE user_id IN ({users})",
+            "DELETE {top} FROM users WHERE user_id IN ({users})");
+
+    // Who is booked on the tours being removed, per kind: the tour's own slot and the link rows
+    private static final String STAFFING = "SELECT t.{tourColumn}, t.tour_date FROM tours t WHERE t.user_id IN ({users}) " +
+            "AND t.{tourColumn} IS NOT NULL AND t.status <> 'CANCELLED' " +
+            "UNION SELECT l.{linkColumn}, t.tour_date FROM {linkTable} l JOIN tours t ON t.id = l.tour_id " +
+            "WHERE t.user_id IN ({users}) AND l.status IN ('ACCEPTED', 'ASSIGNED')";
+
+    private static final String ONE_USER = "SELECT u.user_id FROM users u WHERE u.user_id = ?";
+    private static final String TOMBSTONED_USERS = "SELECT u.user_id FROM users u WHERE u.deleted_at IS NOT NULL";
+    // Users per purge round; statements repeat {users} at most twice, well under SQL Server's 2100 parameters
+    private static final int PURGE_CHUNK_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${safari.users.delete-mode:hard}")
+    private String deleteMode;
+
+    @Value("${safari.users.purge.batch-size:500}")
+    private int purgeBatchSize;
+
+    public boolean isSoftDelete() {
+        return "soft".equalsIgnoreCase(deleteMode);
+    }
+
+    // Returns false when there is no (visible) user with that id
+    @Transactional
+    public boolean delete(Long userId) {
+        if (isSoftDelete()) {
+            return jdbcTemplate.update("UPDATE users SET deleted_at = CURRENT_TIMESTAMP, version = version + 1 " +
+                    "WHERE user_id = ? AND deleted_at IS NULL", userId) > 0;
+        }
+        List<Long> userIds = List.of(userId);
+        List<StaffingChangedEvent> released = staffing(ONE_USER, userIds);
+        int deleted = 0;
+        for (String template : CASCADE) {
+            deleted = jdbcTemplate.update(template.replace("{top}", "").replace("{users}", ONE_USER), args(template, userIds));
+        }
+        // Delivered after commit (AvailabilityIndex listens transactionally)
+        released.forEach(eventPublisher::publishEvent);
+        // The last statement removed the users row itself
+        return deleted > 0;
+    }
+
+    // Works on the users tombstoned when it starts: one soft-deleted mid-run would otherwise reach the users
+    // statement before its dependents are gone and fail that whole batch. Each batch commits on its own
+    // (no surrounding transaction), so locks are held for one batch at a time.
+    public int purgeDeleted() {
+        List<Long> tombstoned = jdbcTemplate.queryForList(TOMBSTONED_USERS, Long.class);
+        int total = 0;
+        for (int from = 0; from < tombstoned.size(); from += PURGE_CHUNK_SIZE) {
+            total += purge(tombstoned.subList(from, Math.min(from + PURGE_CHUNK_SIZE, tombstoned.size())));
+        }
+        if (total > 0) {
+            log.info("Purged {} rows belonging to {} deleted users", total, tombstoned.size());
+        }
+        return total;
+    }
+
+    private int purge(List<Long> userIds) {
+        String users = String.join(", ", Collections.nCopies(userIds.size(), "?"));
+        List<StaffingChangedEvent> released = staffing(users, userIds);
+        int total = 0;
+        for (String template : CASCADE) {
+            String sql = template.replace("{top}", "TOP (" + purgeBatchSize + ")").replace("{users}", users);
+            Object[] args = args(template, userIds);
+            int affected;
+            do {
+                affected = jdbcTemplate.update(sql, args);
+                total += affected;
+            } while (affected >= purgeBatchSize);
+        }
+        released.forEach(eventPublisher::publishEvent);
+        return total;
+    }
+
+    private List<StaffingChangedEvent> staffing(String users, List<Long> userIds) {
+        List<StaffingChangedEvent> events = new ArrayList<>();
+        for (TourAssignmentEngine.Kind kind : TourAssignmentEngine.Kind.values()) {
+            String template = STAFFING.replace("{tourColumn}", kind.tourColumn).replace("{linkColumn}", kind.linkColumn)
+                    .replace("{linkTable}", kind.linkTable);
+            jdbcTemplate.query(template.replace("{users}", users), rs -> {
+                events.add(StaffingChangedEvent.released(kind, rs.getLong(1), rs.getDate(2).toLocalDate()));
+            }, args(template, userIds));
+        }
+        return events;
+    }
+
+    // The user ids once per {users} in the template (ONE_USER and the placeholder list take one ? per id)
+    private static Object[] args(String template, List<Long> userIds) {
+        int occurrences = template.split("\\{users}", -1).length - 1;
+        List<Object> args = new ArrayList<>(occurrences * userIds.size());
+        for (int i = 0; i < occurrences; i++) {
+            args.addAll(userIds);
+        }
+        return args.toArray();
+    }
+}
@@ -0,0 +1,183 @@
+package com.safari.safari_2.service;
+
+import com.safari.safari_2.dto.BatchPatchResult;
+import com.safari.safari_2.dto.UserPatchDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partial profile updates written as one UPDATE naming only the supplied columns; the row is never loaded.
+ * The version column is bumped on every update and, when the caller supplies the version it read,
+ * checked in the same statement (optimistic locking without a prior SELECT).
+ * Authentication data is not patchable, so the user details cache needs no eviction.
+ */
+@Service
+public class UserPatchService {
+
+    public enum Status { UPDATED, INVALID, NOT_FOUND, VERSION_CONFLICT, EMAIL_TAKEN }
+
+    public record Outcome(Status status, Long version, String message) {
+        static Outcome of(Status status, String message) {
+            return new Outcome(status, null, message);
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Transactional so the version read back after an unchecked update is the one this update wrote
+    @Transactional
+    public Outcome patch(UserPatchDTO patch) {
+        Map<String, String> columns = columns(patch);
+        if (columns.isEmpty()) {
+            return Outcome.of(Status.INVALID, "No updatable fields supplied (firstName, lastName, email, contactNumber)");
+        }
+        if (columns.containsValue("")) {
+            return Outcome.of(Status.INVALID, "Fields cannot be blank");
+        }
+
+        int updated;
+        try {
+            updated = jdbcTemplate.update(updateSql(columns.keySet(), patch.getVersion() != null), args(patch, columns));
+        } catch (DuplicateKeyException e) {
+            // email is the only unique column a patch can touch
+            return Outcome.of(Status.EMAIL_TAKEN, "Email already exists");
+        }
+        if (updated == 0) {
+            return missed(patch);
+        }
+
+        Long version = patch.getVersion() != null ? patch.getVersion() + 1
+                : jdbcTemplate.queryForObject("SELECT version FROM users WHERE user_id = ?", Long.class, patch.getUserId());
+        return new Outcome(Status.UPDATED, version, "User updated successfully");
+    }
+
+    /**
+     * Patches many users in one request. Patches touching the same columns share one JDBC batch
+     * in its own transaction; if that batch fails (e.g. a duplicate email) its patches are retried
+     * one by one so only the offending rows are reported.
+     */
+    public BatchPatchResult patchAll(List<UserPatchDTO> patches) {
+        BatchPatchResult result = new BatchPatchResult();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int row = 0; row < patches.size(); row++) {
+            UserPatchDTO patch = patches.get(row);
+            Map<String, String> columns = patch == null ? Map.of() : columns(patch);
+            if (patch == null || patch.getUserId() == null || columns.isEmpty() || columns.containsValue("")) {
+                result.addError(row, patch == null ? null : patch.getUserId(), 400,
+                        "userId and at least one non-blank field are required");
+                continue;
+            }
+            String sql = updateSql(columns.keySet(), patch.getVersion() != null);
+            groups.computeIfAbsent(sql, k -> new ArrayList<>()).add(row);
+        }
+
+        groups.forEach((sql, rows) -> {
+            List<Object[]> batchArgs = new ArrayList<>(rows.size());
+            for (int row : rows) {
+                UserPatchDTO patch = patches.get(row);
+                batchArgs.add(args(patch, columns(patch)));
+            }
+            int[] counts;
+            try {
+                counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(sql, batchArgs));
+            } catch (DataAccessException e) {
+                for (int row : rows) {
+                    record(result, row, patches.get(row), patch(patches.get(row)));
+                }
+                return;
+            }
+            for (int i = 0; i < rows.size(); i++) {
+                int row = rows.get(i);
+                if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                    result.addUpdated(1);
+                } else {
+                    record(result, row, patches.get(row), missed(patches.get(row)));
+                }
+            }
+        });
+        return result;
+    }
+
+    private void record(BatchPatchResult result, int row, UserPatchDTO patch, Outcome outcome) {
+        if (outcome.status() == Status.UPDATED) {
+            result.addUpdated(1);
+        } else {
+            result.addError(row, patch.getUserId(), httpStatus(outcome.status()), outcome.message());
+        }
+    }
+
+    public static int httpStatus(Status status) {
+        return switch (status) {
+            case UPDATED -> 200;
+            case INVALID -> 400;
+            case NOT_FOUND -> 404;
+            case EMAIL_TAKEN -> 409;
+            case VERSION_CONFLICT -> 412;
+        };
+    }
+
+    // Zero rows updated: either the user is gone or the version moved on
+    private Outcome missed(UserPatchDTO patch) {
+        Integer exists = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE user_id = ? AND deleted_at IS NULL", Integer.class, patch.getUserId());
+        if (exists == null || exists == 0) {
+            return Outcome.of(Status.NOT_FOUND, "User not found");
+        }
+        return Outcome.of(Status.VERSION_CONFLICT, "User was modified since version " + patch.getVersion());
+    }
+
+    // Column -> trimmed value for the supplied fields, in a fixed order so equal shapes share a statement
+    private static Map<String, String> columns(UserPatchDTO patch) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        put(columns, "first_name", patch.getFirstName());
+        put(columns, "last_name", patch.getLastName());
+        put(columns, "email", patch.getEmail());
+        put(columns, "contact_number", patch.getContactNumber());
+        return columns;
+    }
+
+    private static void put(Map<String, String> columns, String column, String value) {
+        if (value != null) {
+            columns.put(column, value.trim());
+        }
+    }
+
+    private static String updateSql(Iterable<String> columns, boolean checkVersion) {
+        StringBuilder sql = new StringBuilder("UPDATE users SET ");
+        for (String column : columns) {
+            sql.append(column).append(" = ?, ");
+        }
+        sql.append("version = version + 1 WHERE user_id = ? AND deleted_at IS NULL");
+        if (checkVersion) {
+            sql.append(" AND version = ?");
+        }
+        return sql.toString();
+    }
+
+    private static Object[] args(UserPatchDTO patch, Map<String, String> columns) {
+        List<Object> args = new ArrayList<>(columns.values());
+        args.add(patch.getUserId());
+        if (patch.getVersion() != null) {
+            args.add(patch.getVersion());
+        }
+        return args.toArray();
+    }
+}
@@ -8,6 +8,7 @@ import com.safari.safari_2.model.Driver;
 import com.safari.safari_2.model.Guide;
 import com.safari.safari_2.model.Tourist;
 import com.safari.safari_2.repository.UserRepository;
+import com.safari.safari_2.security.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -32,20 +33,14 @@ public class UserService {
     private GuideService guideService;
     
     @Autowired
-    private TouristService touristService;
-    
-    @Autowired
-    private TouristUserService touristUserService;
-    
+    private UserDeletionService userDeletionService;
+
     @Autowired
-    private TourService tourService;
+    private UserDetailsCache userDetailsCache;
 
     @Transactional
     public User register(RegisterDTO dto) {
-        // Validate passwords match
-        if (!dto.getPassword().equals(dto.getConfirmPassword())) {
-            throw new RuntimeException("Passwords do not match");
-        }
+        validateRegistration(dto);
 
         // Check uniqueness
         if (userRepository.findByUsername(dto.getUsername()).isPresent()) {
@@ -71,28 +66,15 @@ public class UserService {
 
         // Set role-specific fields
         if (dto.getRole() == Role.TOURIST) {
-            if (dto.getNationality() == null || dto.getNationality().isEmpty()) {
-                throw new RuntimeException("Nationality is required for tourists");
-            }
             user.setNationality(dto.getNationality());
         } else if (dto.getRole() == Role.GUIDE) {
-            if (dto.getExperience() == null || dto.getLanguage() == null || dto.getLanguage().isEmpty()) {
-                throw new RuntimeException("Experience and languages are required for guides");
-            }
             user.setExperience(dto.getExperience());
             user.setLanguages(dto.getLanguage());
         } else if (dto.getRole() == Role.DRIVER) {
-            if (dto.getExperience() == null || dto.getLanguage() == null || dto.getLanguage().isEmpty() ||
-                    dto.getLicenseNumber() == null || dto.getLicenseNumber().isEmpty() ||
-                    dto.getVehicleType() == null) {
-                throw new RuntimeException("Experience, languages, license number, and vehicle type are required for drivers");
-            }
             user.setExperience(dto.getExperience());
             user.setLanguages(dto.getLanguage());
             user.setLicenseNumber(dto.getLicenseNumber());
             user.setVehicleType(dto.getVehicleType());
-        } else {
-            throw new RuntimeException("Invalid role");
         }
 
         User savedUser = userRepository.save(user);
@@ -114,35 +96,47 @@ public class UserService {
                 "Wildlife tours, Cultural experiences",
                 "Professional wildlife guide with " + dto.getExperience() + " years of experience."
             );
-        } else if (dto.getRole() == Role.TOURIST) {
-            touristService.createTourist(
-                savedUser.getId(),
-                savedUser.getEmail(),
-                dto.getNationality(),
-                savedUser.getFirstName(),
-                savedUser.getLastName(),
-                savedUser.getContactNumber(),
-                savedUser.getNic(),
-                savedUser.getUsername()
-            );
-            
-            // Also create a TouristUser record with only the required fields
-            touristUserService.createTouristUser(
-                savedUser.getId(),
-                savedUser.getEmail(),
-                dto.getNationality(),
-                savedUser.getNic(),
-                savedUser.getUsername()
-            );
         }
+        // Tourists need no extra rows: tourists/tourist_users are projections of the users row
         
         return savedUser;
     }
 
+    // Field-level checks shared by single and bulk registration (no database access)
+    public void validateRegistration(RegisterDTO dto) {
+        // Validate passwords match
+        if (dto.getPassword() == null || !dto.getPassword().equals(dto.getConfirmPassword())) {
+            throw new RuntimeException("Passwords do not match");
+        }
+
+        if (dto.getRole() == Role.TOURIST) {
+            if (dto.getNationality() == null || dto.getNationality().isEmpty()) {
+                throw new RuntimeException("Nationality is required for tourists");
+            }
+        } else if (dto.getRole() == Role.GUIDE) {
+            if (dto.getExperience() == null || dto.getLanguage() == null || dto.getLanguage().isEmpty()) {
+                throw new RuntimeException("Experience and languages are required for guides");
+            }
+        } else if (dto.getRole() == Role.DRIVER) {
+            if (dto.getExperience() == null || dto.getLanguage() == null || dto.getLanguage().isEmpty() ||
+                    dto.getLicenseNumber() == null || dto.getLicenseNumber().isEmpty() ||
+                    dto.getVehicleType() == null) {
+                throw new RuntimeException("Experience, languages, license number, and vehicle type are required for drivers");
+            }
+        } else {
+            throw new RuntimeException("Invalid role");
+        }
+    }
+
     public Optional<User> getUserById(Long userId) {
         return userRepository.findById(userId);
     }
 
+    // Current version only (no entity hydration), for conditional GETs
+    public Optional<Long> getUserVersion(Long userId) {
+        return userRepository.findVersionById(userId);
+    }
+
     @Transactional
     public boolean updateUser(Long userId, Map<String, String> request) {
         try {
@@ -161,6 +155,7 @@ public class UserService {
                 }
                 
                 userRepository.save(user);
+                userDetailsCache.evictOnCommit(user.getUsername());
                 return true;
             }
             return false;
@@ -176,21 +171,11 @@ public class UserService {
             if (userOptional.isPresent()) {
                 User user = userOptional.get();
                 
-                // Delete all related data first
-                if (user.getRole() == Role.DRIVER) {
-                    driverService.deleteDriverByUserId(userId);
-                } else if (user.getRole() == Role.GUIDE) {
-                    guideService.deleteGuideByUserId(userId);
-                } else if (user.getRole() == Role.TOURIST) {
-                    touristService.deleteTouristByUserId(userId);
-                    touristUserService.deleteTouristUserByUserId(userId);
+                // One set-based statement per dependent table (or a tombstone in soft-delete mode)
+                if (!userDeletionService.delete(userId)) {
+                    return false;
                 }
-                
-                // Delete all tours created by this user
-                tourService.deleteToursByUserId(userId);
-                
-                // Finally delete the user
-                userRepository.delete(user);
+                userDetailsCache.evictOnCommit(user.getUsername());
                 return true;
             }
             return false;
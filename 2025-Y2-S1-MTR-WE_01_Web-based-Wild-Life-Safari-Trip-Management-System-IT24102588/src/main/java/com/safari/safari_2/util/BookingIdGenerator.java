@@ -0,0 +1,146 @@
+package com.safari.safari_2.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered 64-bit booking ids that several application nodes can mint without coordinating:
+ *
+ *   0 | 41 bits milliseconds since 2025-01-01 | 10 bits node id | 12 bits sequence
+ *
+ * Ids only grow, so inserts into the booking_id unique index land on its last page instead of all over it.
+ * Per node the last timestamp and sequence share one AtomicLong advanced by CAS (no lock). When the 4096
+ * sequence numbers of a millisecond run out, or the wall clock steps back, the generator keeps counting on
+ * into the next millisecond instead of waiting, so ids stay unique and ordered and the clock catches up.
+ *
+ * Customers see the id as 13 Crockford base32 characters ({@link #encode(long)}), which sort like the number.
+ */
+@Component
+public class BookingIdGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingIdGenerator.class);
+
+    public static final long EPOCH_MILLIS = 1735689600000L; // 2025-01-01T00:00:00Z
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 13; // ceil(64 / 5)
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // (milliseconds since EPOCH_MILLIS) << SEQUENCE_BITS | sequence of the last id handed out
+    private final AtomicLong state = new AtomicLong();
+
+    public BookingIdGenerator(int nodeId) {
+        this(nodeId, false);
+    }
+
+    // With require-node-id (on under the server profile) an unset node id fails startup instead of being derived
+    @Autowired
+    public BookingIdGenerator(@Value("${safari.ids.node-id:-1}") int nodeId,
+                              @Value("${safari.ids.require-node-id:false}") boolean requireNodeId) {
+        this(nodeId >= 0 ? nodeId : derivedNodeId(requireNodeId), System::currentTimeMillis);
+    }
+
+    BookingIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        while (true) {
+            long last = state.get();
+            long lastMillis = last >>> SEQUENCE_BITS;
+            // A new millisecond starts at sequence 0; otherwise count on from the last id (possibly into the next ms)
+            long next = now > lastMillis ? now << SEQUENCE_BITS : last + 1;
+            if (state.compareAndSet(last, next)) {
+                return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public String nextBookingId() {
+        return encode(nextId());
+    }
+
+    public static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    // Lenient as Crockford intends: case-insensitive, I/L read as 1, O as 0, hyphens ignored
+    public static long decode(String text) {
+        long id = 0;
+        int digits = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toUpperCase(text.charAt(i));
+            if (c == '-') {
+                continue;
+            }
+            int value = switch (c) {
+                case 'O' -> 0;
+                case 'I', 'L' -> 1;
+                default -> indexOf(c);
+            };
+            // 13 digits hold 65 bits: the leading one of a full-length id carries only 4 (0-F)
+            if (value < 0 || ++digits > ENCODED_LENGTH || (id >>> (64 - 5)) != 0) {
+                throw new IllegalArgumentException("Not a booking id: " + text);
+            }
+            id = id << 5 | value;
+        }
+        return id;
+    }
+
+    public static long timestampMillis(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int nodeId(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+
+    private static int indexOf(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Fallback for single-node setups only: hashed ids of two nodes can clash, so servers must set safari.ids.node-id
+    private static int derivedNodeId(boolean requireNodeId) {
+        if (requireNodeId) {
+            throw new IllegalStateException("safari.ids.node-id must be set (0-" + MAX_NODE_ID
+                    + "), unique per application node");
+        }
+        String identity;
+        try {
+            identity = InetAddress.getLocalHost().getHostName() + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        } catch (Exception e) {
+            identity = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        int nodeId = Math.floorMod(identity.hashCode(), MAX_NODE_ID + 1);
+        log.warn("safari.ids.node-id not set; using {} derived from {}", nodeId, identity);
+        return nodeId;
+    }
+}
@@ -0,0 +1,36 @@
+package com.safari.safari_2.util;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Streams every row of an entity through a JDBC cursor, in id order.
+ * The SQL comes from the entity mapping (including any @Subselect filter), and a stateless session keeps
+ * no persistence context, so memory use does not grow with the table.
+ */
+@Component
+public class EntityStreamer {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${safari.streaming.fetch-size:500}")
+    private int fetchSize;
+
+    public <T> void streamAll(Class<T> type, Consumer<? super T> consumer) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+             Stream<T> rows = session.createSelectionQuery("from " + type.getName() + " e order by e.id", type)
+                     .setFetchSize(fetchSize)
+                     .getResultStream()) {
+            rows.forEach(consumer);
+        }
+    }
+}
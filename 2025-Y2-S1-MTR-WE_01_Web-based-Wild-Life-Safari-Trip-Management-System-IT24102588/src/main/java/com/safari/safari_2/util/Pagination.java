@@ -0,0 +1,22 @@
+package com.safari.safari_2.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Page sizes for the keyset-paginated endpoints, one clamp for all of them (safari.pagination.*).
+ */
+@Component
+public class Pagination {
+
+    @Value("${safari.pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${safari.pagination.max-size:500}")
+    private int maxPageSize;
+
+    // Requested size clamped to 1..max-size, default-size when absent; a shorter page is the last one
+    public int pageSize(Integer size) {
+        return size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+    }
+}
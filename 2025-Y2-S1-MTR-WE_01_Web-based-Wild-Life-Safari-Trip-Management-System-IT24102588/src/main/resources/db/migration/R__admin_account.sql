@@ -0,0 +1,10 @@
+-- Optional administrator account, created only when the deployment provides a BCrypt hash for it
+-- (SAFARI_ADMIN_PASSWORD_HASH, see application.properties). Nothing is seeded by default.
+-- Runs again whenever the hash changes, but never touches an existing account: change passwords in the app.
+
+IF '${adminPasswordHash}' <> ''
+    AND NOT EXISTS (SELECT * FROM users WHERE username = 'admin' OR email = '${adminEmail}')
+BEGIN
+    INSERT INTO users (username, password, role, first_name, last_name, email, contact_number, nic)
+    VALUES ('admin', '${adminPasswordHash}', 'ADMIN', 'Admin', 'User', '${adminEmail}', '0000000000', '000000000V');
+END
@@ -0,0 +1,28 @@
+-- Append-only booking event log. It is the write path for bookings; tourist_bookings, guide_bookings and
+-- driver_bookings are projections of it (BookingEventLog) and can be rebuilt from it.
+-- event_id and booking_id come from BookingIdGenerator: time-ordered, so new events append to the end of the
+-- clustered index. Only CREATED events carry the booking details and the customer-facing reference.
+
+IF OBJECT_ID('booking_events', 'U') IS NULL
+BEGIN
+    CREATE TABLE booking_events (
+        event_id BIGINT NOT NULL PRIMARY KEY,
+        booking_id BIGINT NOT NULL,
+        event_type VARCHAR(20) NOT NULL,
+        booking_ref VARCHAR(13) NULL,
+        role VARCHAR(10) NULL,
+        person_id BIGINT NULL,
+        tourist_id BIGINT NULL,
+        tour_name VARCHAR(255) NULL,
+        tour_date DATE NULL,
+        number_of_people INT NULL,
+        special_instruction NVARCHAR(MAX) NULL,
+        occurred_at DATETIME2 NOT NULL DEFAULT SYSUTCDATETIME(),
+        CONSTRAINT ck_booking_events_type CHECK (event_type IN ('CREATED', 'ASSIGNED', 'ACCEPTED', 'CANCELLED'))
+    );
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_booking_events_booking' AND object_id = OBJECT_ID('booking_events'))
+BEGIN
+    CREATE INDEX idx_booking_events_booking ON booking_events (booking_id, event_id);
+END
@@ -0,0 +1,12 @@
+-- Per-person lookups on the link tables, for the "already busy that day" check in batch assignment
+-- (keeps its key-range locks on one person instead of the whole table).
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_driver_tours_driver' AND object_id = OBJECT_ID('driver_tours'))
+BEGIN
+    CREATE INDEX idx_driver_tours_driver ON driver_tours (driver_id, status) INCLUDE (tour_id);
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_guide_tours_guide' AND object_id = OBJECT_ID('guide_tours'))
+BEGIN
+    CREATE INDEX idx_guide_tours_guide ON guide_tours (guide_id, status) INCLUDE (tour_id);
+END
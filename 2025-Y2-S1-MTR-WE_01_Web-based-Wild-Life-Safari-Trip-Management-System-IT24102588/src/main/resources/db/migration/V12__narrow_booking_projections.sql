@@ -0,0 +1,59 @@
+-- Booking details (tour name, date, party size, special instruction) are written once, in the CREATED event.
+-- The projection tables keep who, which booking and the status; their detail columns stay only for rows written
+-- before the event log and are NULL for logged bookings. The *_booking_details views read the details from
+-- whichever of the two holds them.
+
+ALTER TABLE tourist_bookings ALTER COLUMN tour_name VARCHAR(255) NULL;
+ALTER TABLE tourist_bookings ALTER COLUMN tour_date DATE NULL;
+ALTER TABLE tourist_bookings ALTER COLUMN number_of_people INT NULL;
+ALTER TABLE guide_bookings ALTER COLUMN tour_name VARCHAR(255) NULL;
+ALTER TABLE guide_bookings ALTER COLUMN tour_date DATE NULL;
+ALTER TABLE guide_bookings ALTER COLUMN number_of_people INT NULL;
+ALTER TABLE driver_bookings ALTER COLUMN tour_name VARCHAR(255) NULL;
+ALTER TABLE driver_bookings ALTER COLUMN tour_date DATE NULL;
+ALTER TABLE driver_bookings ALTER COLUMN number_of_people INT NULL;
+
+-- The views join on the customer-facing reference, which only CREATED events carry
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_booking_events_ref' AND object_id = OBJECT_ID('booking_events'))
+BEGIN
+    EXEC('CREATE UNIQUE INDEX idx_booking_events_ref ON booking_events (booking_ref) WHERE booking_ref IS NOT NULL');
+END
+
+IF OBJECT_ID('tourist_booking_details', 'V') IS NULL
+BEGIN
+    EXEC('CREATE VIEW tourist_booking_details AS
+        SELECT b.id, b.booking_id, b.tourist_id,
+               COALESCE(b.tour_name, e.tour_name) AS tour_name,
+               COALESCE(b.tour_date, e.tour_date) AS tour_date,
+               COALESCE(b.number_of_people, e.number_of_people) AS number_of_people,
+               COALESCE(CAST(b.special_instruction AS NVARCHAR(MAX)), e.special_instruction) AS special_instruction,
+               b.status, b.created_date
+        FROM tourist_bookings b
+        LEFT JOIN booking_events e ON e.booking_ref = b.booking_id AND e.event_type = ''CREATED''');
+END
+
+IF OBJECT_ID('guide_booking_details', 'V') IS NULL
+BEGIN
+    EXEC('CREATE VIEW guide_booking_details AS
+        SELECT b.id, b.booking_id, b.guide_id,
+               COALESCE(b.tour_name, e.tour_name) AS tour_name,
+               COALESCE(b.tour_date, e.tour_date) AS tour_date,
+               COALESCE(b.number_of_people, e.number_of_people) AS number_of_people,
+               COALESCE(CAST(b.special_instruction AS NVARCHAR(MAX)), e.special_instruction) AS special_instruction,
+               b.status, b.created_date
+        FROM guide_bookings b
+        LEFT JOIN booking_events e ON e.booking_ref = b.booking_id AND e.event_type = ''CREATED''');
+END
+
+IF OBJECT_ID('driver_booking_details', 'V') IS NULL
+BEGIN
+    EXEC('CREATE VIEW driver_booking_details AS
+        SELECT b.id, b.booking_id, b.driver_id,
+               COALESCE(b.tour_name, e.tour_name) AS tour_name,
+               COALESCE(b.tour_date, e.tour_date) AS tour_date,
+               COALESCE(b.number_of_people, e.number_of_people) AS number_of_people,
+               COALESCE(CAST(b.special_instruction AS NVARCHAR(MAX)), e.special_instruction) AS special_instruction,
+               b.status, b.created_date
+        FROM driver_bookings b
+        LEFT JOIN booking_events e ON e.booking_ref = b.booking_id AND e.event_type = ''CREATED''');
+END
@@ -0,0 +1,28 @@
+-- Per-booking event order. event_id is time-ordered only per application node, so with several nodes and some
+-- clock skew a booking's ACCEPTED event can get a smaller id than its ASSIGNED event. seq numbers a booking's
+-- events in the order they were appended (CREATED = 0); replay and history sort by it. The unique index also
+-- makes two concurrent appends to one booking collide instead of both taking the same position.
+
+IF COL_LENGTH('booking_events', 'seq') IS NULL
+BEGIN
+    ALTER TABLE booking_events ADD seq INT NULL;
+END
+
+-- Existing events were appended on this order already
+EXEC('UPDATE e SET seq = n.seq
+    FROM booking_events e
+    JOIN (SELECT event_id, ROW_NUMBER() OVER (PARTITION BY booking_id ORDER BY event_id) - 1 AS seq
+          FROM booking_events) n ON n.event_id = e.event_id
+    WHERE e.seq IS NULL');
+
+ALTER TABLE booking_events ALTER COLUMN seq INT NOT NULL;
+
+IF EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_booking_events_booking' AND object_id = OBJECT_ID('booking_events'))
+BEGIN
+    DROP INDEX idx_booking_events_booking ON booking_events;
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_booking_events_seq' AND object_id = OBJECT_ID('booking_events'))
+BEGIN
+    CREATE UNIQUE INDEX idx_booking_events_seq ON booking_events (booking_id, seq);
+END
@@ -0,0 +1,152 @@
+-- Core schema (formerly database_reset_complete.sql plus the create_*_table scripts).
+-- Existing databases are baselined at version 1 (spring.flyway.baseline-on-migrate), so this
+-- only runs against an empty database; later versions are written to be safe on either.
+
+CREATE TABLE users (
+    user_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    contact_number VARCHAR(20) NOT NULL,
+    nic VARCHAR(20) NOT NULL UNIQUE,
+    role VARCHAR(20) NOT NULL,
+    nationality VARCHAR(100),
+    experience INT,
+    languages VARCHAR(500),
+    license_number VARCHAR(50),
+    vehicle_type VARCHAR(50)
+);
+
+CREATE TABLE tours (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    tour_name VARCHAR(255) NOT NULL,
+    tour_date DATE NOT NULL,
+    number_of_people INT NOT NULL,
+    special_instructions TEXT,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    created_date DATETIME DEFAULT GETDATE()
+);
+
+CREATE TABLE drivers (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    user_id BIGINT NOT NULL UNIQUE,
+    license_number VARCHAR(50) NOT NULL UNIQUE,
+    vehicle_type VARCHAR(50) NOT NULL,
+    experience_years INT NOT NULL,
+    languages VARCHAR(500) NOT NULL,
+    description TEXT,
+    is_available BIT NOT NULL DEFAULT 1,
+    rating DECIMAL(3,2) DEFAULT 0.0,
+    total_trips INT DEFAULT 0,
+    created_date DATE DEFAULT GETDATE()
+);
+
+CREATE TABLE guides (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    user_id BIGINT NOT NULL UNIQUE,
+    experience_years INT NOT NULL,
+    languages VARCHAR(500) NOT NULL,
+    specializations TEXT,
+    description TEXT,
+    is_available BIT NOT NULL DEFAULT 1,
+    rating DECIMAL(3,2) DEFAULT 0.0,
+    total_tours INT DEFAULT 0,
+    certifications TEXT,
+    created_date DATE DEFAULT GETDATE()
+);
+
+CREATE TABLE driver_tours (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    driver_id BIGINT NOT NULL,
+    tour_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    created_date DATETIME DEFAULT GETDATE()
+);
+
+CREATE TABLE guide_tours (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    guide_id BIGINT NOT NULL,
+    tour_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    created_date DATETIME DEFAULT GETDATE()
+);
+
+CREATE TABLE tourist_bookings (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    booking_id VARCHAR(50) NOT NULL UNIQUE,
+    tourist_id BIGINT NOT NULL,
+    tour_name VARCHAR(255) NOT NULL,
+    tour_date DATE NOT NULL,
+    number_of_people INT NOT NULL,
+    special_instruction TEXT,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    created_date DATETIME DEFAULT GETDATE()
+);
+
+CREATE TABLE guide_bookings (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    booking_id VARCHAR(50) NOT NULL UNIQUE,
+    guide_id BIGINT NOT NULL,
+    tour_name VARCHAR(255) NOT NULL,
+    tour_date DATE NOT NULL,
+    number_of_people INT NOT NULL,
+    special_instruction TEXT,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    created_date DATETIME DEFAULT GETDATE()
+);
+
+CREATE TABLE driver_bookings (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    booking_id VARCHAR(50) NOT NULL UNIQUE,
+    driver_id BIGINT NOT NULL,
+    tour_name VARCHAR(255) NOT NULL,
+    tour_date DATE NOT NULL,
+    number_of_people INT NOT NULL,
+    special_instruction TEXT,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    created_date DATETIME DEFAULT GETDATE()
+);
+
+CREATE TABLE reviews (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    name NVARCHAR(255) NOT NULL,
+    review TEXT NOT NULL,
+    stars INT NOT NULL CHECK (stars >= 1 AND stars <= 5),
+    created_at DATETIME2 NOT NULL DEFAULT GETDATE()
+);
+
+CREATE INDEX IX_reviews_created_at ON reviews(created_at DESC);
+CREATE INDEX IX_reviews_stars ON reviews(stars);
+
+CREATE TABLE notices (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    message TEXT NOT NULL,
+    [to] NVARCHAR(20) NOT NULL CHECK ([to] IN ('driver', 'guide')),
+    created_at DATETIME2 NOT NULL DEFAULT GETDATE(),
+    is_read BIT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IX_notices_to ON notices([to]);
+CREATE INDEX IX_notices_created_at ON notices(created_at);
+
+CREATE TABLE contact_details (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    address TEXT NOT NULL,
+    phone NVARCHAR(50) NOT NULL,
+    email NVARCHAR(100) NOT NULL
+);
+
+INSERT INTO contact_details (address, phone, email)
+VALUES ('123 Jungle Lane, Wildlands', '+94 123 456 789', 'info@wildlifesafari.com');
+
+-- Foreign keys (formerly fix_foreign_keys_only.sql / fix_tours_foreign_key.sql)
+ALTER TABLE tours ADD CONSTRAINT fk_tours_user_id FOREIGN KEY (user_id) REFERENCES users(user_id);
+ALTER TABLE drivers ADD CONSTRAINT fk_drivers_user_id FOREIGN KEY (user_id) REFERENCES users(user_id);
+ALTER TABLE guides ADD CONSTRAINT fk_guides_user_id FOREIGN KEY (user_id) REFERENCES users(user_id);
+ALTER TABLE driver_tours ADD CONSTRAINT fk_driver_tours_driver_id FOREIGN KEY (driver_id) REFERENCES drivers(id);
+ALTER TABLE driver_tours ADD CONSTRAINT fk_driver_tours_tour_id FOREIGN KEY (tour_id) REFERENCES tours(id);
+ALTER TABLE guide_tours ADD CONSTRAINT fk_guide_tours_guide_id FOREIGN KEY (guide_id) REFERENCES guides(id);
+ALTER TABLE guide_tours ADD CONSTRAINT fk_guide_tours_tour_id FOREIGN KEY (tour_id) REFERENCES tours(id);
@@ -0,0 +1,11 @@
+-- Assigned driver and guide on tours (formerly add_assignment_columns_to_tours.sql)
+
+IF COL_LENGTH('tours', 'assigned_driver_id') IS NULL
+BEGIN
+    ALTER TABLE tours ADD assigned_driver_id BIGINT NULL;
+END
+
+IF COL_LENGTH('tours', 'assigned_guide_id') IS NULL
+BEGIN
+    ALTER TABLE tours ADD assigned_guide_id BIGINT NULL;
+END
@@ -0,0 +1,18 @@
+-- Review approval status (formerly add_review_status_column.sql)
+-- Reviews that existed before moderation are approved so they keep showing on the reviews page.
+
+IF COL_LENGTH('reviews', 'status') IS NULL
+BEGIN
+    ALTER TABLE reviews ADD status NVARCHAR(20) NOT NULL CONSTRAINT DF_reviews_status DEFAULT 'PENDING';
+    EXEC('UPDATE reviews SET status = ''APPROVED''');
+END
+
+IF NOT EXISTS (SELECT * FROM sys.check_constraints WHERE name = 'CK_reviews_status')
+BEGIN
+    ALTER TABLE reviews ADD CONSTRAINT CK_reviews_status CHECK (status IN ('PENDING', 'APPROVED', 'REJECTED'));
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'IX_reviews_status' AND object_id = OBJECT_ID('reviews'))
+BEGIN
+    CREATE INDEX IX_reviews_status ON reviews(status);
+END
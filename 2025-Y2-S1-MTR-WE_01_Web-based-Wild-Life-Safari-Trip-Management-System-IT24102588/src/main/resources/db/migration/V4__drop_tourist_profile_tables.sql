@@ -0,0 +1,34 @@
+-- Tourist profiles are served from users (formerly migrate_tourist_profiles_to_users.sql).
+-- Copies any nationality that only exists in the old tables, then drops them. No-op on new databases.
+
+IF OBJECT_ID('tourists', 'U') IS NOT NULL
+BEGIN
+    EXEC('UPDATE u SET u.nationality = t.nationality FROM users u
+          INNER JOIN tourists t ON t.user_id = u.user_id WHERE u.nationality IS NULL');
+END
+
+IF OBJECT_ID('tourist_users', 'U') IS NOT NULL
+BEGIN
+    EXEC('UPDATE u SET u.nationality = tu.nationality FROM users u
+          INNER JOIN tourist_users tu ON tu.user_id = u.user_id WHERE u.nationality IS NULL');
+END
+
+IF EXISTS (SELECT * FROM sys.foreign_keys WHERE name = 'fk_tourists_user_id')
+BEGIN
+    ALTER TABLE tourists DROP CONSTRAINT fk_tourists_user_id;
+END
+
+IF EXISTS (SELECT * FROM sys.foreign_keys WHERE name = 'fk_tourist_users_user_id')
+BEGIN
+    ALTER TABLE tourist_users DROP CONSTRAINT fk_tourist_users_user_id;
+END
+
+IF OBJECT_ID('tourists', 'U') IS NOT NULL
+BEGIN
+    DROP TABLE tourists;
+END
+
+IF OBJECT_ID('tourist_users', 'U') IS NOT NULL
+BEGIN
+    DROP TABLE tourist_users;
+END
@@ -0,0 +1,8 @@
+-- Indexes behind the repository finders (formerly add_lookup_indexes.sql).
+-- Matches the @Table(indexes = ...) declared on the entities; IndexVerifier warns at startup if one is missing.
+-- username, email and nic lookups are served by the UNIQUE constraints on users.
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_users_role_nationality' AND object_id = OBJECT_ID('users'))
+BEGIN
+    CREATE INDEX idx_users_role_nationality ON users (role, nationality);
+END
@@ -0,0 +1,7 @@
+-- Optimistic-lock version on users (formerly add_user_version_column.sql).
+-- Backs @Version on User and the user/tourist ETags; existing rows start at 0.
+
+IF COL_LENGTH('users', 'version') IS NULL
+BEGIN
+    ALTER TABLE users ADD version BIGINT NOT NULL CONSTRAINT DF_users_version DEFAULT 0;
+END
@@ -0,0 +1,12 @@
+-- Tombstone for safari.users.delete-mode=soft: rows with deleted_at set are hidden by @SQLRestriction on User
+-- and removed in batches by DeletedUserPurger. The filtered index keeps the purger's scan to tombstoned rows.
+
+IF COL_LENGTH('users', 'deleted_at') IS NULL
+BEGIN
+    ALTER TABLE users ADD deleted_at DATETIME2 NULL;
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_users_deleted_at' AND object_id = OBJECT_ID('users'))
+BEGIN
+    EXEC('CREATE INDEX idx_users_deleted_at ON users (deleted_at) WHERE deleted_at IS NOT NULL');
+END
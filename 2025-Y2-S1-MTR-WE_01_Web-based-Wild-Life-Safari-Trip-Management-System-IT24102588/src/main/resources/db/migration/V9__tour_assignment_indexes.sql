@@ -0,0 +1,26 @@
+-- Indexes for batch tour assignment: pending tours by date, and the "already busy that day" check per person.
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_tours_status_date' AND object_id = OBJECT_ID('tours'))
+BEGIN
+    CREATE INDEX idx_tours_status_date ON tours (status, tour_date);
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_tours_driver_date' AND object_id = OBJECT_ID('tours'))
+BEGIN
+    CREATE INDEX idx_tours_driver_date ON tours (assigned_driver_id, tour_date);
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_tours_guide_date' AND object_id = OBJECT_ID('tours'))
+BEGIN
+    CREATE INDEX idx_tours_guide_date ON tours (assigned_guide_id, tour_date);
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_driver_tours_tour' AND object_id = OBJECT_ID('driver_tours'))
+BEGIN
+    CREATE INDEX idx_driver_tours_tour ON driver_tours (tour_id, status);
+END
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_guide_tours_tour' AND object_id = OBJECT_ID('guide_tours'))
+BEGIN
+    CREATE INDEX idx_guide_tours_tour ON guide_tours (tour_id, status);
+END
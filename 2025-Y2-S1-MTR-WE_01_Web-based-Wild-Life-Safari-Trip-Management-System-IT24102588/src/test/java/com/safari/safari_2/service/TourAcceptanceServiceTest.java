@@ -0,0 +1,183 @@
+package com.safari.safari_2.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Stress test against an in-memory H2 database: many people accept the same tour at the same instant
+class TourAcceptanceServiceTest {
+
+    private static final int CONTENDERS = 64;
+    private static final int ROUNDS = 25;
+    private static final LocalDate TOUR_DATE = LocalDate.of(2026, 12, 24);
+
+    private JdbcTemplate jdbcTemplate;
+    private TourAcceptanceService service;
+    private ExecutorService executor;
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:acceptance-" + UUID.randomUUID() + ";MODE=MSSQLServer;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE tours (id BIGINT PRIMARY KEY, tour_date DATE NOT NULL, "
+                + "status VARCHAR(20) DEFAULT 'PENDING' NOT NULL, assigned_driver_id BIGINT, assigned_guide_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE driver_tours (id BIGINT IDENTITY PRIMARY KEY, driver_id BIGINT NOT NULL, "
+                + "tour_id BIGINT NOT NULL, status VARCHAR(20) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE guide_tours (id BIGINT IDENTITY PRIMARY KEY, guide_id BIGINT NOT NULL, "
+                + "tour_id BIGINT NOT NULL, status VARCHAR(20) NOT NULL)");
+
+        service = new TourAcceptanceService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "eventPublisher", (ApplicationEventPublisher) events::add);
+        executor = Executors.newFixedThreadPool(CONTENDERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void exactlyOneDriverWinsEachTour() throws Exception {
+        for (long tourId = 1; tourId <= ROUNDS; tourId++) {
+            insertTour(tourId);
+            List<Long> drivers = people(CONTENDERS);
+
+            Map<TourAcceptanceService.Result, Long> results = race(tourId, TourAssignmentEngine.Kind.DRIVER, drivers);
+
+            assertEquals(1L, results.get(TourAcceptanceService.Result.ACCEPTED), "winners for tour " + tourId);
+            assertEquals(CONTENDERS - 1L, results.get(TourAcceptanceService.Result.TAKEN), "losers for tour " + tourId);
+            assertWinnerRecorded(TourAssignmentEngine.Kind.DRIVER, tourId);
+        }
+        assertEquals(ROUNDS, events.size());
+    }
+
+    @Test
+    void driverAndGuideSlotsAreContendedIndependently() throws Exception {
+        for (long tourId = 1; tourId <= ROUNDS; tourId++) {
+            insertTour(tourId);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<TourAcceptanceService.Result>> drivers = submit(start, tourId, TourAssignmentEngine.Kind.DRIVER, people(CONTENDERS / 2));
+            List<Future<TourAcceptanceService.Result>> guides = submit(start, tourId, TourAssignmentEngine.Kind.GUIDE, people(CONTENDERS / 2));
+            start.countDown();
+
+            assertEquals(1L, count(drivers).get(TourAcceptanceService.Result.ACCEPTED), "driver winners for tour " + tourId);
+            assertEquals(1L, count(guides).get(TourAcceptanceService.Result.ACCEPTED), "guide winners for tour " + tourId);
+            assertWinnerRecorded(TourAssignmentEngine.Kind.DRIVER, tourId);
+            assertWinnerRecorded(TourAssignmentEngine.Kind.GUIDE, tourId);
+        }
+    }
+
+    @Test
+    void repeatedAcceptByWinnerIsNotAConflict() {
+        insertTour(1L);
+
+        assertEquals(TourAcceptanceService.Result.ACCEPTED, service.accept(TourAssignmentEngine.Kind.DRIVER, 1L, 7L));
+        assertEquals(TourAcceptanceService.Result.ALREADY_YOURS, service.accept(TourAssignmentEngine.Kind.DRIVER, 1L, 7L));
+        assertEquals(TourAcceptanceService.Result.TAKEN, service.accept(TourAssignmentEngine.Kind.DRIVER, 1L, 8L));
+        assertEquals(TourAcceptanceService.Result.NOT_FOUND, service.accept(TourAssignmentEngine.Kind.DRIVER, 2L, 7L));
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void onlyPendingToursForPeopleFreeThatDay() {
+        insertTour(1L, TOUR_DATE);
+        insertTour(2L, TOUR_DATE);
+        insertTour(3L, TOUR_DATE);
+        jdbcTemplate.update("INSERT INTO tours (id, tour_date, status) VALUES (4, ?, 'CONFIRMED')", Date.valueOf(TOUR_DATE));
+        insertTour(5L, TOUR_DATE.plusDays(1));
+
+        assertEquals(TourAcceptanceService.Result.NOT_OFFERED, service.accept(TourAssignmentEngine.Kind.DRIVER, 4L, 7L));
+        assertEquals(TourAcceptanceService.Result.ACCEPTED, service.accept(TourAssignmentEngine.Kind.DRIVER, 1L, 7L));
+        // Same date as tour 1
+        assertEquals(TourAcceptanceService.Result.BUSY, service.accept(TourAssignmentEngine.Kind.DRIVER, 2L, 7L));
+        assertEquals(TourAcceptanceService.Result.ACCEPTED, service.accept(TourAssignmentEngine.Kind.DRIVER, 5L, 7L));
+        // Busy through a link row only (assigned elsewhere, slot not filled)
+        jdbcTemplate.update("INSERT INTO guide_tours (guide_id, tour_id, status) VALUES (9, 1, 'ASSIGNED')");
+        assertEquals(TourAcceptanceService.Result.BUSY, service.accept(TourAssignmentEngine.Kind.GUIDE, 3L, 9L));
+        assertEquals(TourAcceptanceService.Result.ACCEPTED, service.accept(TourAssignmentEngine.Kind.GUIDE, 3L, 10L));
+        assertEquals(3, events.size());
+    }
+
+    private Map<TourAcceptanceService.Result, Long> race(long tourId, TourAssignmentEngine.Kind kind, List<Long> people)
+            throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<TourAcceptanceService.Result>> futures = submit(start, tourId, kind, people);
+        start.countDown();
+        return count(futures);
+    }
+
+    // Every task blocks on the latch, so all accepts hit the database together
+    private List<Future<TourAcceptanceService.Result>> submit(CountDownLatch start, long tourId,
+                                                             TourAssignmentEngine.Kind kind, List<Long> people) {
+        List<Future<TourAcceptanceService.Result>> futures = new ArrayList<>();
+        for (Long person : people) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return service.accept(kind, tourId, person);
+            }));
+        }
+        return futures;
+    }
+
+    private static Map<TourAcceptanceService.Result, Long> count(List<Future<TourAcceptanceService.Result>> futures)
+            throws Exception {
+        List<TourAcceptanceService.Result> results = new ArrayList<>();
+        for (Future<TourAcceptanceService.Result> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return results.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+
+    // The slot holder and the single link row must name the same person
+    private void assertWinnerRecorded(TourAssignmentEngine.Kind kind, long tourId) {
+        Long holder = jdbcTemplate.queryForObject("SELECT " + kind.tourColumn + " FROM tours WHERE id = ?", Long.class, tourId);
+        List<Long> links = jdbcTemplate.queryForList("SELECT " + kind.linkColumn + " FROM " + kind.linkTable
+                + " WHERE tour_id = ?", Long.class, tourId);
+        assertTrue(holder != null, "slot filled for tour " + tourId);
+        assertEquals(List.of(holder), links);
+    }
+
+    // One date per tour, so the winners of earlier rounds are still free for the next one
+    private void insertTour(long tourId) {
+        insertTour(tourId, TOUR_DATE.plusDays(tourId));
+    }
+
+    private void insertTour(long tourId, LocalDate date) {
+        jdbcTemplate.update("INSERT INTO tours (id, tour_date) VALUES (?, ?)", tourId, Date.valueOf(date));
+    }
+
+    private static List<Long> people(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,113 @@
+package com.safari.safari_2.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingIdGeneratorTest {
+
+    private static final int NODES = 8;
+    private static final int THREADS_PER_NODE = 4;
+    private static final int IDS_PER_THREAD = 25_000;
+
+    // Several simulated nodes sharing one clock, each hammered by several threads at once
+    @Test
+    void noCollisionsAcrossNodesAndThreads() throws Exception {
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(NODES * THREADS_PER_NODE);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int node = 0; node < NODES; node++) {
+                BookingIdGenerator generator = new BookingIdGenerator(node, System::currentTimeMillis);
+                for (int t = 0; t < THREADS_PER_NODE; t++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        long previous = Long.MIN_VALUE;
+                        boolean increasing = true;
+                        for (int i = 0; i < IDS_PER_THREAD; i++) {
+                            long id = generator.nextId();
+                            increasing &= id > previous;
+                            previous = id;
+                            seen.add(id);
+                        }
+                        return increasing;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(60, TimeUnit.SECONDS), "ids from one thread must increase");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(NODES * THREADS_PER_NODE * IDS_PER_THREAD, seen.size());
+    }
+
+    @Test
+    void sequenceOverflowAndClockRollbackStayUniqueAndOrdered() {
+        AtomicLong clock = new AtomicLong(BookingIdGenerator.EPOCH_MILLIS + 1_000);
+        BookingIdGenerator generator = new BookingIdGenerator(5, clock::get);
+
+        long previous = generator.nextId();
+        // Far more than 4096 ids in one frozen millisecond, then the clock jumps back
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        clock.addAndGet(-500);
+        long afterRollback = generator.nextId();
+        assertTrue(afterRollback > previous);
+        assertEquals(5, BookingIdGenerator.nodeId(afterRollback));
+    }
+
+    @Test
+    void encodingRoundTripsAndSortsLikeTheNumber() {
+        BookingIdGenerator generator = new BookingIdGenerator(1023, System::currentTimeMillis);
+        String previous = "";
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            String encoded = BookingIdGenerator.encode(id);
+            assertEquals(13, encoded.length());
+            assertEquals(id, BookingIdGenerator.decode(encoded));
+            assertTrue(encoded.compareTo(previous) > 0);
+            previous = encoded;
+        }
+        long id = generator.nextId();
+        String friendly = BookingIdGenerator.encode(id).toLowerCase().replace("1", "l").replace("0", "o");
+        assertEquals(id, BookingIdGenerator.decode(friendly.substring(0, 5) + "-" + friendly.substring(5)));
+        assertEquals(1023, BookingIdGenerator.nodeId(id));
+    }
+
+    @Test
+    void rejectsOutOfRangeNodeIdsAndBadText() {
+        assertThrows(IllegalArgumentException.class, () -> new BookingIdGenerator(1024, System::currentTimeMillis));
+        assertThrows(IllegalArgumentException.class, () -> BookingIdGenerator.decode("BK#123"));
+        assertThrows(IllegalArgumentException.class, () -> BookingIdGenerator.decode("00000000000000"));
+        // A 13th digit above F would shift bits out of the long
+        assertThrows(IllegalArgumentException.class, () -> BookingIdGenerator.decode("G000000000000"));
+        assertThrows(IllegalArgumentException.class, () -> BookingIdGenerator.decode("Z000000000000"));
+        assertEquals(-1L, BookingIdGenerator.decode("FZZZZZZZZZZZZ"));
+    }
+
+    @Test
+    void unsetNodeIdFailsWhenRequired() {
+        assertThrows(IllegalStateException.class, () -> new BookingIdGenerator(-1, true));
+        assertEquals(7, BookingIdGenerator.nodeId(new BookingIdGenerator(7, true).nextId()));
+    }
+}